@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.bench;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Random;
+import ua.kpi.comsys.test2.implementation.NumberListImpl;
+
+/**
+ * Вимірює час доступу до цифр <tt>NumberListImpl</tt> за індексом у типових
+ * циклах: прямий і зворотний обхід, копіювання через <tt>subList</tt> та
+ * випадковий доступ. Результат - середній час одного звернення.<p>
+ *
+ * Запуск: <tt>make bench</tt> або
+ * <tt>java -cp out/main ua.kpi.comsys.test2.bench.IndexedAccessBenchmark [розмір...]</tt>
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class IndexedAccessBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 50_000};
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+
+    private static volatile int sink; // не дає JIT відкинути результати
+
+    private IndexedAccessBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        run(sizes, System.out);
+    }
+
+    static void run(int[] sizes, PrintStream out) {
+        out.printf(Locale.ROOT, "%-10s %12s %12s %12s %12s%n",
+                "digits", "forward", "backward", "subList", "random");
+        for (int size : sizes) {
+            NumberListImpl list = new NumberListImpl();
+            Random random = new Random(size);
+            for (int i = 0; i < size; i++) {
+                list.add((byte) random.nextInt(8));
+            }
+            int[] randomIndexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                randomIndexes[i] = random.nextInt(size);
+            }
+
+            out.printf(Locale.ROOT, "%-10d %9.1f ns %9.1f ns %9.1f ns %9.1f ns%n", size,
+                    measure(size, () -> forward(list)),
+                    measure(size, () -> backward(list)),
+                    measure(size, () -> sink += list.subList(0, list.size()).size()),
+                    measure(size, () -> randomAccess(list, randomIndexes)));
+        }
+    }
+
+    // Найкращий середній час одного звернення серед кількох повторів
+    private static double measure(int accesses, Runnable loop) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            loop.run();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            loop.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / accesses;
+    }
+
+    private static void forward(NumberListImpl list) {
+        int sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        sink += sum;
+    }
+
+    private static void backward(NumberListImpl list) {
+        int sum = 0;
+        for (int i = list.size() - 1; i >= 0; i--) {
+            sum += list.get(i);
+        }
+        sink += sum;
+    }
+
+    private static void randomAccess(NumberListImpl list, int[] indexes) {
+        int sum = 0;
+        for (int index : indexes) {
+            sum += list.get(index);
+        }
+        sink += sum;
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.cli;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import ua.kpi.comsys.test2.implementation.NumberListImpl;
+
+/**
+ * Пакетна обробка файлів із десятковими числами в одному запуску JVM.
+ * Кожен файл завантажується у <tt>NumberListImpl</tt>, над ним виконується
+ * вибрана операція, обробка йде паралельно у пулі потоків.<p>
+ *
+ * Запуск: <tt>java -cp out/main ua.kpi.comsys.test2.cli.NumberBatch [параметри] &lt;файл|каталог&gt;...</tt>
+ *
+ * <pre>
+ *   --op &lt;операція&gt;   changeScale | subtract | save | convert | snapshot (за замовчуванням save)
+ *   --arg &lt;файл&gt;       другий операнд для subtract
+ *   --out &lt;каталог&gt;    куди записувати результати; без нього результати відкидаються
+ *   --threads &lt;n&gt;      кількість потоків (за замовчуванням - кількість процесорів)
+ *   --virtual          віртуальні потоки замість пулу
+ *   --verbose          виводити час обробки кожного файлу
+ * </pre>
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class NumberBatch {
+
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_FAILED = 1;
+    private static final int EXIT_USAGE = 2;
+
+    // Операції над одним файлом
+    enum Operation {
+        CHANGE_SCALE("changeScale", ".dec"),
+        SUBTRACT("subtract", ".txt"),
+        SAVE("save", ".txt"),
+        CONVERT("convert", ".oct"),
+        SNAPSHOT("snapshot", ".nld");
+
+        final String name;
+        final String extension;
+
+        Operation(String name, String extension) {
+            this.name = name;
+            this.extension = extension;
+        }
+
+        static Operation of(String name) {
+            for (Operation op : values()) {
+                if (op.name.equals(name)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Невідома операція: " + name);
+        }
+    }
+
+    // Результат обробки одного файлу
+    private static final class Outcome {
+        final File file;
+        final long nanos;
+        final int digits;
+        final Exception error;
+
+        Outcome(File file, long nanos, int digits, Exception error) {
+            this.file = file;
+            this.nanos = nanos;
+            this.digits = digits;
+            this.error = error;
+        }
+    }
+
+    private Operation operation = Operation.SAVE;
+    private NumberListImpl argument;
+    private File outDir;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean virtual;
+    private boolean verbose;
+    private final List<File> inputs = new ArrayList<>();
+
+    private NumberBatch() {
+    }
+
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+
+    /**
+     * Runs batch processing with specified command line arguments.
+     *
+     * @param args - command line arguments
+     * @param out - stream for report
+     * @param err - stream for errors
+     * @return process exit code.
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        NumberBatch batch = new NumberBatch();
+        try {
+            batch.parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Використання: NumberBatch [--op changeScale|subtract|save|convert|snapshot]"
+                    + " [--arg файл] [--out каталог] [--threads n] [--virtual] [--verbose] <файл|каталог>...");
+            return EXIT_USAGE;
+        }
+
+        try {
+            return batch.execute(out, err);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Обробку перервано");
+            return EXIT_FAILED;
+        }
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--op":
+                    operation = Operation.of(value(args, ++i));
+                    break;
+                case "--arg":
+                    File argFile = new File(value(args, ++i));
+                    if (!Files.isReadable(argFile.toPath())) {
+                        throw new IllegalArgumentException("Не вдалося прочитати файл " + argFile);
+                    }
+                    argument = new NumberListImpl(argFile);
+                    break;
+                case "--out":
+                    outDir = new File(value(args, ++i));
+                    break;
+                case "--threads":
+                    try {
+                        threads = Integer.parseInt(value(args, ++i));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Некоректна кількість потоків: " + args[i]);
+                    }
+                    if (threads <= 0) {
+                        throw new IllegalArgumentException("Кількість потоків має бути додатною: " + threads);
+                    }
+                    break;
+                case "--virtual":
+                    virtual = true;
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        throw new IllegalArgumentException("Невідомий параметр: " + args[i]);
+                    }
+                    addInput(new File(args[i]));
+            }
+        }
+
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("Не вказано жодного файлу");
+        }
+        if (operation == Operation.SUBTRACT && argument == null) {
+            throw new IllegalArgumentException("Для subtract потрібен параметр --arg");
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Параметру " + args[i - 1] + " потрібне значення");
+        }
+        return args[i];
+    }
+
+    private void addInput(File file) {
+        if (file.isDirectory()) {
+            File[] files = file.listFiles(File::isFile);
+            if (files != null) {
+                Arrays.sort(files);
+                inputs.addAll(Arrays.asList(files));
+            }
+        } else {
+            inputs.add(file);
+        }
+    }
+
+    private int execute(PrintStream out, PrintStream err) throws InterruptedException {
+        if (outDir != null && !outDir.isDirectory() && !outDir.mkdirs()) {
+            err.println("Не вдалося створити каталог " + outDir);
+            return EXIT_FAILED;
+        }
+
+        ExecutorService executor = createExecutor();
+        long start = System.nanoTime();
+        List<Outcome> outcomes = new ArrayList<>(inputs.size());
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>(inputs.size());
+            for (File file : inputs) {
+                futures.add(executor.submit(() -> process(file)));
+            }
+            for (Future<Outcome> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    // process() перехоплює всі винятки, сюди потрапляють лише помилки JVM
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return report(outcomes, elapsed, out, err);
+    }
+
+    private ExecutorService createExecutor() {
+        if (virtual) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private Outcome process(File file) {
+        long start = System.nanoTime();
+        try {
+            // Конструктор повертає порожній список для відсутнього файлу, тож перевіряємо заздалегідь
+            if (!Files.isReadable(file.toPath())) {
+                throw new FileNotFoundException("Не вдалося прочитати файл " + file);
+            }
+            NumberListImpl list = new NumberListImpl(file);
+            File target = outDir == null ? null : new File(outDir, file.getName() + operation.extension);
+
+            switch (operation) {
+                case CHANGE_SCALE:
+                    list = list.changeScale();
+                    writeText(target, list.toString());
+                    break;
+                case SUBTRACT:
+                    list = list.additionalOperation(argument);
+                    writeText(target, list.toDecimalString());
+                    break;
+                case SAVE:
+                    if (target != null) {
+                        list.saveList(target);
+                    }
+                    break;
+                case CONVERT:
+                    writeText(target, list.toString());
+                    break;
+                case SNAPSHOT:
+                    if (target != null) {
+                        list.saveSnapshot(target);
+                    }
+                    break;
+                default:
+                    throw new AssertionError(operation);
+            }
+            return new Outcome(file, System.nanoTime() - start, list.size(), null);
+        } catch (Exception e) {
+            return new Outcome(file, System.nanoTime() - start, 0, e);
+        }
+    }
+
+    private static void writeText(File target, String text) throws IOException {
+        if (target == null) {
+            return;
+        }
+        try (Writer writer = new FileWriter(target)) {
+            writer.write(text);
+        }
+    }
+
+    private int report(List<Outcome> outcomes, long elapsed, PrintStream out, PrintStream err) {
+        long[] latencies = new long[outcomes.size()];
+        long digits = 0;
+        int failed = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            Outcome o = outcomes.get(i);
+            latencies[i] = o.nanos;
+            digits += o.digits;
+            if (o.error != null) {
+                failed++;
+                err.println(o.file + ": " + o.error);
+            } else if (verbose) {
+                out.printf(Locale.ROOT, "%s: %.3f ms, %d digits%n", o.file, o.nanos / 1e6, o.digits);
+            }
+        }
+        Arrays.sort(latencies);
+
+        double seconds = elapsed / 1e9;
+        out.printf(Locale.ROOT, "operation:  %s (%s)%n", operation.name,
+                virtual ? "virtual threads" : threads + " threads");
+        out.printf(Locale.ROOT, "files:      %d processed, %d failed%n", outcomes.size(), failed);
+        out.printf(Locale.ROOT, "elapsed:    %.3f s%n", seconds);
+        out.printf(Locale.ROOT, "throughput: %.1f files/s, %.0f digits/s%n",
+                outcomes.size() / seconds, digits / seconds);
+        out.printf(Locale.ROOT, "latency:    p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                percentile(latencies, 50) / 1e6, percentile(latencies, 90) / 1e6,
+                percentile(latencies, 99) / 1e6, percentile(latencies, 100) / 1e6);
+
+        return failed == 0 ? EXIT_OK : EXIT_FAILED;
+    }
+
+    // Перцентиль за методом найближчого рангу, масив уже відсортовано
+    private static long percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
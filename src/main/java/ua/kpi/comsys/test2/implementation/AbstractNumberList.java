@@ -0,0 +1,669 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Базова реалізація <tt>NumberList</tt> для альтернативних способів зберігання
+ * цифр. Нащадки реалізують лише доступ до цифр за індексом, вставку та
+ * видалення, решта операцій списку виражається через них.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public abstract class AbstractNumberList implements NumberList {
+
+    protected final int base; // основа системи числення
+
+    /**
+     * Constructor with custom base.
+     *
+     * @param base - base of number system
+     */
+    protected AbstractNumberList(int base) {
+        this.base = base;
+    }
+
+    /**
+     * Returns digit at specified position. Index is already checked.
+     */
+    protected abstract byte digitAt(int index);
+
+    /**
+     * Replaces digit at specified position. Index and digit are already checked.
+     */
+    protected abstract void setDigit(int index, byte digit);
+
+    /**
+     * Inserts digit at specified position, <tt>index == size()</tt> appends
+     * to the end. Index and digit are already checked.
+     */
+    protected abstract void insertDigit(int index, byte digit);
+
+    /**
+     * Removes digit at specified position. Index is already checked.
+     *
+     * @return removed digit.
+     */
+    protected abstract byte removeDigit(int index);
+
+    /**
+     * Returns new empty list of the same kind in specified base. Base is
+     * already checked.
+     */
+    protected abstract AbstractNumberList createEmpty(int base);
+
+
+    /**
+     * Returns base of number system of this list.
+     *
+     * @return base of number system.
+     */
+    public int getBase() {
+        return base;
+    }
+
+    // Перевіряє, що елемент є коректною цифрою поточної системи числення
+    protected void checkDigit(Byte e) {
+        if (e == null) {
+            throw new NullPointerException("Null елементи не дозволені");
+        }
+        if (e < 0 || e >= base) {
+            throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
+        }
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size());
+        }
+    }
+
+    protected void checkPositionIndex(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size());
+        }
+    }
+
+    // Додає цифри десяткового числа у поточній системі числення
+    protected void convertFromDecimal(String decimalValue) {
+        try {
+            if (decimalValue == null || decimalValue.isEmpty() || decimalValue.equals("0")) {
+                insertDigit(size(), (byte) 0);
+                return;
+            }
+
+            BigInteger decimal = new BigInteger(decimalValue);
+            if (decimal.signum() < 0) {
+                clear();
+                return;
+            }
+
+            String baseString = decimal.toString(base);
+            for (int i = 0; i < baseString.length(); i++) {
+                insertDigit(size(), (byte) Character.digit(baseString.charAt(i), base));
+            }
+        } catch (IllegalArgumentException e) {
+            // Невалідний рядок - порожній список
+            clear();
+        }
+    }
+
+    // Додає цифри десяткового числа з файлу; файл, що не читається, дає порожній список
+    protected void convertFromFile(File file) {
+        ParallelDecimalParser parser = new ParallelDecimalParser(ForkJoinPool.commonPool());
+        try (InputStream in = GzipFiles.openInput(file)) {
+            BigInteger value = parser.parse(in);
+            if (value != null) {
+                appendValue(value);
+            }
+        } catch (IOException e) {
+            // Як і NumberListImpl(File), залишаємо список порожнім
+        }
+    }
+
+    // Дописує цифри невід'ємного значення в кінець списку
+    private void appendValue(BigInteger value) {
+        byte[] digits;
+        if (RadixConverter.isPowerOfTwo(base)) {
+            // Байти магнітуди - цифри основи 256, їх достатньо перегрупувати
+            byte[] magnitude = value.toByteArray();
+            digits = RadixConverter.regroup(magnitude, 0, magnitude.length, 256, base);
+        } else {
+            String digitString = value.toString(base);
+            digits = new byte[digitString.length()];
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = (byte) Character.digit(digitString.charAt(i), base);
+            }
+        }
+        for (byte digit : digits) {
+            insertDigit(size(), digit);
+        }
+    }
+
+
+    /**
+     * Saves the number, stored in the list, into specified file
+     * in <b>decimal</b> scale of notation. If file name ends with
+     * <tt>.gz</tt>, the file is gzip-compressed.
+     *
+     * @param file - file where number has to be stored.
+     */
+    public void saveList(File file) {
+        try (OutputStream out = GzipFiles.openOutput(file)) {
+            RadixConverter.writeDecimal(toBigInteger(), out);
+        } catch (IOException e) {
+            throw new RuntimeException("Помилка запису у файл", e);
+        }
+    }
+
+
+    /**
+     * Returns new list of the same kind which represents the same number
+     * in other scale of notation, defined by personal test assignment.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @return list in other scale of notation.
+     */
+    public AbstractNumberList changeScale() {
+        return changeScale(NumberListImpl.ADDITIONAL_BASE);
+    }
+
+
+    /**
+     * Returns new list of the same kind which represents the same number
+     * in specified scale of notation. Conversion between power-of-two bases
+     * (2, 4, 8, 16, 32) takes linear time.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param targetBase - base of number system of the result, from 2 to 36
+     * @return list in specified scale of notation.
+     * @throws IllegalArgumentException if base is out of range.
+     */
+    public AbstractNumberList changeScale(int targetBase) {
+        RadixConverter.checkBase(targetBase);
+        AbstractNumberList result = createEmpty(targetBase);
+        if (RadixConverter.canRegroup(base, targetBase)) {
+            // Цифри обох систем - групи бітів, достатньо перегрупувати біти
+            for (byte digit : RadixConverter.regroup(digitValues(), 0, size(), base, targetBase)) {
+                result.insertDigit(result.size(), digit);
+            }
+        } else {
+            result.appendValue(toBigInteger());
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns new list of the same kind which represents the result of
+     * additional operation, defined by personal test assignment: this number
+     * minus <tt>arg</tt>. Negative difference gives an empty list.<p>
+     *
+     * Does not impact the original lists.
+     *
+     * @param arg - second argument of additional operation, <tt>NumberListImpl</tt>
+     * or <tt>AbstractNumberList</tt>
+     * @return result of additional operation.
+     */
+    public AbstractNumberList additionalOperation(NumberList arg) {
+        BigInteger b = arg instanceof NumberListImpl
+                ? ((NumberListImpl) arg).toBigInteger()
+                : ((AbstractNumberList) arg).toBigInteger();
+        BigInteger difference = toBigInteger().subtract(b);
+
+        AbstractNumberList result = createEmpty(base);
+        if (difference.signum() >= 0) {
+            result.appendValue(difference);
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns number of occurrences of every digit in the list.
+     *
+     * @return array of <tt>base</tt> counters indexed by digit.
+     */
+    public int[] digitHistogram() {
+        int[] histogram = new int[base];
+        for (int i = 0; i < size(); i++) {
+            histogram[digitAt(i)]++;
+        }
+        return histogram;
+    }
+
+
+    /**
+     * Returns string representation of number, stored in the list
+     * in <b>decimal</b> scale of notation.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        if (isEmpty()) {
+            return "0";
+        }
+        return toBigInteger().toString(10);
+    }
+
+    // Значення числа; цифри укладаються в BigInteger без проміжного десяткового рядка
+    protected BigInteger toBigInteger() {
+        return RadixConverter.toBigInteger(digitValues(), 0, size(), base);
+    }
+
+    /**
+     * Returns array whose first <tt>size()</tt> elements are digits of the
+     * list. The array may be the storage of the list and must not be modified.
+     */
+    protected byte[] digitValues() {
+        byte[] values = new byte[size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = digitAt(i);
+        }
+        return values;
+    }
+
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "0";
+        }
+
+        StringBuilder sb = new StringBuilder(size());
+        for (int i = 0; i < size(); i++) {
+            sb.append((char) DigitScanner.DIGIT_CHARS[digitAt(i)]);
+        }
+        return sb.toString();
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AbstractNumberList)) return false;
+
+        // Порівнюємо за значенням
+        return toBigInteger().equals(((AbstractNumberList) o).toBigInteger());
+    }
+
+
+    @Override
+    public int hashCode() {
+        return toBigInteger().hashCode();
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return listIterator(0);
+    }
+
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = digitAt(i);
+        }
+        return array;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] elements = toArray();
+        if (a.length < elements.length) {
+            return (T[]) Arrays.copyOf(elements, elements.length, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, elements.length);
+        if (a.length > elements.length) {
+            a[elements.length] = null;
+        }
+        return a;
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        checkDigit(e);
+        insertDigit(size(), e);
+        return true;
+    }
+
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        removeDigit(index);
+        return true;
+    }
+
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object e : c) {
+            if (!contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        boolean modified = false;
+        for (Byte e : c) {
+            if (add(e)) {
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Byte> c) {
+        checkPositionIndex(index);
+
+        boolean modified = false;
+        for (Byte e : c) {
+            add(index++, e);
+            modified = true;
+        }
+        return modified;
+    }
+
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = false;
+        for (int i = size() - 1; i >= 0; i--) {
+            if (c.contains(digitAt(i))) {
+                removeDigit(i);
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean modified = false;
+        for (int i = size() - 1; i >= 0; i--) {
+            if (!c.contains(digitAt(i))) {
+                removeDigit(i);
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkIndex(index);
+        return digitAt(index);
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkIndex(index);
+        checkDigit(element);
+
+        byte oldValue = digitAt(index);
+        setDigit(index, element);
+        return oldValue;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        checkPositionIndex(index);
+        checkDigit(element);
+        insertDigit(index, element);
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkIndex(index);
+        return removeDigit(index);
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte)) {
+            return -1;
+        }
+
+        byte digit = (Byte) o;
+        for (int i = 0; i < size(); i++) {
+            if (digitAt(i) == digit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte)) {
+            return -1;
+        }
+
+        byte digit = (Byte) o;
+        for (int i = size() - 1; i >= 0; i--) {
+            if (digitAt(i) == digit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator() {
+        return new DigitListIterator(0);
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator(int index) {
+        checkPositionIndex(index);
+        return new DigitListIterator(index);
+    }
+
+    // ListIterator, що працює через доступ за індексом
+    private class DigitListIterator implements ListIterator<Byte> {
+        private int index;
+        private int lastReturned = -1;
+
+        DigitListIterator(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size();
+        }
+
+        @Override
+        public Byte next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = index++;
+            return digitAt(lastReturned);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public Byte previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = --index;
+            return digitAt(lastReturned);
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            removeDigit(lastReturned);
+            if (lastReturned < index) {
+                index--;
+            }
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(Byte e) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkDigit(e);
+            setDigit(lastReturned, e);
+        }
+
+        @Override
+        public void add(Byte e) {
+            checkDigit(e);
+            insertDigit(index++, e);
+            lastReturned = -1;
+        }
+    }
+
+
+    @Override
+    public List<Byte> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        AbstractNumberList subList = createEmpty(base);
+        for (int i = fromIndex; i < toIndex; i++) {
+            subList.insertDigit(subList.size(), digitAt(i));
+        }
+        return subList;
+    }
+
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        if (index1 < 0 || index1 >= size() || index2 < 0 || index2 >= size()) {
+            return false;
+        }
+
+        if (index1 != index2) {
+            byte temp = digitAt(index1);
+            setDigit(index1, digitAt(index2));
+            setDigit(index2, temp);
+        }
+        return true;
+    }
+
+
+    @Override
+    public void sortAscending() {
+        // Сортування підрахунком: цифр лише base різних значень
+        int[] histogram = digitHistogram();
+        int index = 0;
+        for (int d = 0; d < base; d++) {
+            for (int k = 0; k < histogram[d]; k++) {
+                setDigit(index++, (byte) d);
+            }
+        }
+    }
+
+
+    @Override
+    public void sortDescending() {
+        int[] histogram = digitHistogram();
+        int index = 0;
+        for (int d = base - 1; d >= 0; d--) {
+            for (int k = 0; k < histogram[d]; k++) {
+                setDigit(index++, (byte) d);
+            }
+        }
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        if (size() <= 1) {
+            return;
+        }
+
+        insertDigit(size(), removeDigit(0));
+    }
+
+
+    @Override
+    public void shiftRight() {
+        if (size() <= 1) {
+            return;
+        }
+
+        insertDigit(0, removeDigit(size() - 1));
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Список для представлення числа, цифри якого зберігаються підряд у масиві
+ * байтів. Пошук, підрахунок, перевірка та форматування цифр виконуються
+ * пакетно через {@link DigitScanner}, без переходів між вузлами.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class ArrayNumberList extends AbstractNumberList {
+
+    private static final int DEFAULT_BASE = 8; // вісімкова система за замовчуванням
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] digits; // цифри, старша - перша
+    private int size; // розмір списку
+
+    /**
+     * Default constructor. Returns empty <tt>ArrayNumberList</tt>
+     */
+    public ArrayNumberList() {
+        this(DEFAULT_BASE);
+    }
+
+    /**
+     * Constructor with custom base.
+     *
+     * @param base - base of number system
+     */
+    private ArrayNumberList(int base) {
+        super(base);
+        this.digits = new byte[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+
+    /**
+     * Constructs new <tt>ArrayNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public ArrayNumberList(String value) {
+        this();
+        convertFromDecimal(value);
+    }
+
+
+    /**
+     * Constructs new <tt>ArrayNumberList</tt> by <b>decimal</b> number
+     * from file, defined in string format. Gzip-compressed file is
+     * recognized by its signature and decompressed while reading.
+     *
+     * @param file - file where number is stored.
+     */
+    public ArrayNumberList(File file) {
+        this();
+        convertFromFile(file);
+    }
+
+
+    /**
+     * Appends <tt>length</tt> digits from array, starting from <tt>offset</tt>.
+     * All digits are validated before the list is modified.
+     *
+     * @param src - digits, most significant first
+     * @param offset - index of first digit in <tt>src</tt>
+     * @param length - number of digits
+     */
+    public void addDigits(byte[] src, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > src.length) {
+            throw new IndexOutOfBoundsException("Зсув: " + offset + ", Довжина: " + length);
+        }
+
+        int invalid = DigitScanner.firstInvalid(src, offset, offset + length, base);
+        if (invalid >= 0) {
+            throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
+        }
+
+        ensureCapacity(size + length);
+        System.arraycopy(src, offset, digits, size, length);
+        size += length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > digits.length) {
+            digits = Arrays.copyOf(digits, Math.max(capacity, digits.length + (digits.length >> 1)));
+        }
+    }
+
+
+    @Override
+    protected byte digitAt(int index) {
+        return digits[index];
+    }
+
+    @Override
+    protected void setDigit(int index, byte digit) {
+        digits[index] = digit;
+    }
+
+    @Override
+    protected void insertDigit(int index, byte digit) {
+        ensureCapacity(size + 1);
+        System.arraycopy(digits, index, digits, index + 1, size - index);
+        digits[index] = digit;
+        size++;
+    }
+
+    @Override
+    protected byte removeDigit(int index) {
+        byte digit = digits[index];
+        System.arraycopy(digits, index + 1, digits, index, size - index - 1);
+        size--;
+        return digit;
+    }
+
+    @Override
+    protected AbstractNumberList createEmpty(int base) {
+        return new ArrayNumberList(base);
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+
+    @Override
+    protected byte[] digitValues() {
+        return digits;
+    }
+
+
+    @Override
+    public int[] digitHistogram() {
+        int[] histogram = new int[base];
+        DigitScanner.histogram(digits, 0, size, histogram);
+        return histogram;
+    }
+
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "0";
+        }
+
+        byte[] chars = new byte[size];
+        DigitScanner.toAscii(digits, 0, size, chars, 0, base);
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte)) {
+            return -1;
+        }
+        return DigitScanner.indexOf(digits, 0, size, (Byte) o);
+    }
+
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte)) {
+            return -1;
+        }
+        return DigitScanner.lastIndexOf(digits, 0, size, (Byte) o);
+    }
+
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return filter(c, false);
+    }
+
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return filter(c, true);
+    }
+
+    // Ущільнює масив за один прохід, залишаючи цифри, для яких c.contains(d) == keep
+    private boolean filter(Collection<?> c, boolean keep) {
+        boolean[] kept = new boolean[base];
+        for (int d = 0; d < base; d++) {
+            kept[d] = c.contains((byte) d) == keep;
+        }
+
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            if (kept[digits[r]]) {
+                digits[w++] = digits[r];
+            }
+        }
+        boolean modified = w != size;
+        size = w;
+        return modified;
+    }
+
+
+    @Override
+    public void sortAscending() {
+        int[] histogram = digitHistogram();
+        int index = 0;
+        for (int d = 0; d < base; d++) {
+            Arrays.fill(digits, index, index + histogram[d], (byte) d);
+            index += histogram[d];
+        }
+    }
+
+
+    @Override
+    public void sortDescending() {
+        int[] histogram = digitHistogram();
+        int index = 0;
+        for (int d = base - 1; d >= 0; d--) {
+            Arrays.fill(digits, index, index + histogram[d], (byte) d);
+            index += histogram[d];
+        }
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        if (size <= 1) {
+            return;
+        }
+
+        byte first = digits[0];
+        System.arraycopy(digits, 1, digits, 0, size - 1);
+        digits[size - 1] = first;
+    }
+
+
+    @Override
+    public void shiftRight() {
+        if (size <= 1) {
+            return;
+        }
+
+        byte last = digits[size - 1];
+        System.arraycopy(digits, 0, digits, 1, size - 1);
+        digits[0] = last;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Асинхронне читання та запис цілих файлів через
+ * <tt>AsynchronousFileChannel</tt>. Потік, що викликає, не чекає на
+ * завершення: наступна порція читається або пишеться з обробника
+ * завершення попередньої. Сама операція може блокувати потік пулу каналу -
+ * у Linux JDK виконує звичайне блокуюче читання чи запис як задачу
+ * <tt>executor</tt>.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class AsyncFileIo {
+
+    private static final Set<StandardOpenOption> READ = EnumSet.of(StandardOpenOption.READ);
+    private static final Set<StandardOpenOption> WRITE = EnumSet.of(StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+
+    private AsyncFileIo() {
+    }
+
+    /**
+     * Reads whole file. If <tt>executor</tt> is <tt>null</tt>, completion
+     * handlers run in the default thread pool of the channel.
+     */
+    static CompletableFuture<byte[]> readAll(Path path, ExecutorService executor) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path, READ, executor);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        ByteBuffer buffer;
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Файл завеликий: " + path);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+        } catch (IOException e) {
+            closeQuietly(channel, e);
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        channel.read(buffer, 0, result, new CompletionHandler<Integer, CompletableFuture<byte[]>>() {
+            @Override
+            public void completed(Integer read, CompletableFuture<byte[]> future) {
+                if (read >= 0 && buffer.hasRemaining()) {
+                    channel.read(buffer, buffer.position(), future, this);
+                    return;
+                }
+                // Файл міг зменшитись під час читання - повертаємо лише прочитане
+                byte[] data = buffer.position() == buffer.capacity()
+                        ? buffer.array()
+                        : Arrays.copyOf(buffer.array(), buffer.position());
+                closeAndComplete(channel, future, data);
+            }
+
+            @Override
+            public void failed(Throwable e, CompletableFuture<byte[]> future) {
+                closeQuietly(channel, e);
+                future.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Replaces content of file with remaining bytes of <tt>buffer</tt>. If
+     * <tt>executor</tt> is <tt>null</tt>, completion handlers run in the
+     * default thread pool of the channel.
+     */
+    static CompletableFuture<Void> writeAll(Path path, ByteBuffer buffer, ExecutorService executor) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path, WRITE, executor);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        int start = buffer.position(); // позиція в буфері, що відповідає початку файлу
+        channel.write(buffer, 0, result, new CompletionHandler<Integer, CompletableFuture<Void>>() {
+            @Override
+            public void completed(Integer written, CompletableFuture<Void> future) {
+                if (buffer.hasRemaining()) {
+                    channel.write(buffer, buffer.position() - start, future, this);
+                    return;
+                }
+                closeAndComplete(channel, future, null);
+            }
+
+            @Override
+            public void failed(Throwable e, CompletableFuture<Void> future) {
+                closeQuietly(channel, e);
+                future.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static <T> void closeAndComplete(AsynchronousFileChannel channel, CompletableFuture<T> future, T value) {
+        try {
+            channel.close();
+            future.complete(value);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel, Throwable cause) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
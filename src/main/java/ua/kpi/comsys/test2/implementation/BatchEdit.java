@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Пакет змін цифр списку для {@link NumberListImpl#edit(java.util.function.Consumer)}.
+ * Зміни лише запам'ятовуються; список змінюється одним проходом після
+ * завершення пакета.<p>
+ *
+ * Усі індекси - позиції у списку <b>до</b> початку пакета, тож вставки та
+ * видалення не зсувають індекси наступних змін:
+ * <ul>
+ * <li><tt>set</tt> і <tt>swap</tt> задають вміст позицій і виконуються
+ * послідовно, як звичайні виклики;</li>
+ * <li><tt>add(index, digit)</tt> вставляє цифру перед позицією
+ * <tt>index</tt> (<tt>size()</tt> - у кінець); кілька вставок на одну
+ * позицію йдуть у порядку викликів;</li>
+ * <li><tt>remove(index)</tt> видаляє позицію разом з її остаточним
+ * вмістом; повторне видалення тієї ж позиції нічого не змінює.</li>
+ * </ul>
+ * Індекси та цифри перевіряються один раз перед застосуванням; якщо
+ * перевірка не пройдена, список не змінюється.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class BatchEdit {
+
+    // Позиція -> джерело її вмісту: початковий індекс (>= 0) або закодована цифра (< 0)
+    private final Map<Integer, Integer> contents = new HashMap<>();
+    private int[] insertIndexes = new int[8];
+    private byte[] insertDigits = new byte[8];
+    private int insertCount;
+    private int[] removed = new int[8];
+    private int removedCount;
+    private boolean applied;
+
+    BatchEdit() {
+    }
+
+
+    /**
+     * Replaces digit at specified position.
+     *
+     * @param index - position before the batch
+     * @param digit - new digit
+     * @return this batch.
+     */
+    public BatchEdit set(int index, byte digit) {
+        checkOpen();
+        contents.put(index, literal(digit));
+        return this;
+    }
+
+
+    /**
+     * Swaps contents of two positions.
+     *
+     * @param index1 - first position before the batch
+     * @param index2 - second position before the batch
+     * @return this batch.
+     */
+    public BatchEdit swap(int index1, int index2) {
+        checkOpen();
+        int source1 = contents.getOrDefault(index1, index1);
+        int source2 = contents.getOrDefault(index2, index2);
+        contents.put(index1, source2);
+        contents.put(index2, source1);
+        return this;
+    }
+
+
+    /**
+     * Inserts digit before specified position.
+     *
+     * @param index - position before the batch, <tt>size()</tt> to append
+     * @param digit - digit to insert
+     * @return this batch.
+     */
+    public BatchEdit add(int index, byte digit) {
+        checkOpen();
+        if (insertCount == insertIndexes.length) {
+            insertIndexes = Arrays.copyOf(insertIndexes, insertCount * 2);
+            insertDigits = Arrays.copyOf(insertDigits, insertCount * 2);
+        }
+        insertIndexes[insertCount] = index;
+        insertDigits[insertCount] = digit;
+        insertCount++;
+        return this;
+    }
+
+
+    /**
+     * Removes specified position.
+     *
+     * @param index - position before the batch
+     * @return this batch.
+     */
+    public BatchEdit remove(int index) {
+        checkOpen();
+        if (removedCount == removed.length) {
+            removed = Arrays.copyOf(removed, removedCount * 2);
+        }
+        removed[removedCount++] = index;
+        return this;
+    }
+
+    private void checkOpen() {
+        if (applied) {
+            throw new IllegalStateException("Пакет змін уже застосовано");
+        }
+    }
+
+    // Цифра кодується від'ємним числом, щоб не збігтися з індексом
+    private static int literal(byte digit) {
+        return -1 - (digit + 128);
+    }
+
+    static boolean isLiteral(int source) {
+        return source < 0;
+    }
+
+    static byte digitOf(int source) {
+        return (byte) (-1 - source - 128);
+    }
+
+    boolean isEmpty() {
+        return contents.isEmpty() && insertCount == 0 && removedCount == 0;
+    }
+
+    /**
+     * Checks all indexes against list size and digits against base, and
+     * closes the batch.
+     *
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     * @throws IllegalArgumentException if a digit is out of range.
+     */
+    void validate(int size, int base) {
+        applied = true;
+        for (Map.Entry<Integer, Integer> entry : contents.entrySet()) {
+            checkIndex(entry.getKey(), size, size);
+            int source = entry.getValue();
+            if (isLiteral(source)) {
+                checkDigit(digitOf(source), base);
+            } else {
+                checkIndex(source, size, size);
+            }
+        }
+        for (int i = 0; i < insertCount; i++) {
+            checkIndex(insertIndexes[i], size + 1, size);
+            checkDigit(insertDigits[i], base);
+        }
+        for (int i = 0; i < removedCount; i++) {
+            checkIndex(removed[i], size, size);
+        }
+    }
+
+    private static void checkIndex(int index, int limit, int size) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size);
+        }
+    }
+
+    private static void checkDigit(byte digit, int base) {
+        if (digit < 0 || digit >= base) {
+            throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
+        }
+    }
+
+    /**
+     * Returns positions with changed contents, sorted.
+     */
+    int[] contentPositions() {
+        int[] positions = new int[contents.size()];
+        int count = 0;
+        for (int position : contents.keySet()) {
+            positions[count++] = position;
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Returns source of contents of the position: index before the batch,
+     * or digit if {@link #isLiteral(int)}.
+     */
+    int sourceOf(int position) {
+        return contents.get(position);
+    }
+
+    /**
+     * Returns insertions as <tt>(index &lt;&lt; 32) | order</tt>, sorted.
+     */
+    long[] sortedInsertions() {
+        long[] keys = new long[insertCount];
+        for (int i = 0; i < insertCount; i++) {
+            keys[i] = (long) insertIndexes[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    byte insertedDigit(long key) {
+        return insertDigits[(int) key];
+    }
+
+    /**
+     * Returns removed positions, sorted and without duplicates.
+     */
+    int[] sortedRemovals() {
+        int[] result = Arrays.copyOf(removed, removedCount);
+        Arrays.sort(result);
+        int count = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[count++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
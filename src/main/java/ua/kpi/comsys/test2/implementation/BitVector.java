@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Бітові операції над числами, упакованими в масив <tt>long</tt>
+ * (молодше слово перше). Для основ-степенів двійки цифра - це група бітів,
+ * тож цифри пакуються без арифметики, а кожна операція обробляє
+ * 64 біти (21 вісімкову цифру) за одну інструкцію.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class BitVector {
+
+    private BitVector() {
+    }
+
+    /**
+     * Packs <tt>length</tt> digits starting from <tt>src[off]</tt>, most
+     * significant first, each of <tt>bitsPerDigit</tt> bits.
+     */
+    static long[] pack(byte[] src, int off, int length, int bitsPerDigit) {
+        long[] words = new long[(int) (((long) length * bitsPerDigit + Long.SIZE - 1) >>> 6)];
+        long bit = 0;
+        for (int i = off + length - 1; i >= off; i--, bit += bitsPerDigit) {
+            long digit = src[i];
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            words[word] |= digit << shift;
+            // Цифра перетинає межу слів
+            if (shift + bitsPerDigit > Long.SIZE) {
+                words[word + 1] |= digit >>> (Long.SIZE - shift);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Unpacks number into digits of <tt>bitsPerDigit</tt> bits, most
+     * significant first, without leading zeros. Zero is one digit 0.
+     */
+    static byte[] unpack(long[] words, int bitsPerDigit) {
+        long bits = bitLength(words);
+        byte[] digits = new byte[(int) Math.max(1, (bits + bitsPerDigit - 1) / bitsPerDigit)];
+        long mask = (1L << bitsPerDigit) - 1;
+        long bit = 0;
+        for (int i = digits.length - 1; i >= 0 && bit < bits; i--, bit += bitsPerDigit) {
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long value = words[word] >>> shift;
+            if (shift + bitsPerDigit > Long.SIZE && word + 1 < words.length) {
+                value |= words[word + 1] << (Long.SIZE - shift);
+            }
+            digits[i] = (byte) (value & mask);
+        }
+        return digits;
+    }
+
+    static long bitLength(long[] words) {
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                return (long) i * Long.SIZE + Long.SIZE - Long.numberOfLeadingZeros(words[i]);
+            }
+        }
+        return 0;
+    }
+
+    static long[] and(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & b[i];
+        }
+        return result;
+    }
+
+    static long[] or(long[] a, long[] b) {
+        long[] longer = a.length >= b.length ? a : b;
+        long[] shorter = longer == a ? b : a;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return result;
+    }
+
+    static long[] xor(long[] a, long[] b) {
+        long[] longer = a.length >= b.length ? a : b;
+        long[] shorter = longer == a ? b : a;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] ^= shorter[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns complement of the lowest <tt>width</tt> bits; higher bits
+     * of the result are zero.
+     */
+    static long[] not(long[] a, int width) {
+        long[] result = Arrays.copyOf(a, (width + Long.SIZE - 1) >>> 6);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ~result[i];
+        }
+        int tail = width & 63;
+        if (tail != 0) {
+            result[result.length - 1] &= (1L << tail) - 1;
+        }
+        return result;
+    }
+
+    static long[] shiftLeft(long[] a, int n) {
+        int wordShift = n >>> 6;
+        int bitShift = n & 63;
+        long[] result = new long[a.length + wordShift + 1];
+        for (int i = 0; i < a.length; i++) {
+            result[i + wordShift] |= a[i] << bitShift;
+            if (bitShift != 0) {
+                result[i + wordShift + 1] = a[i] >>> (Long.SIZE - bitShift);
+            }
+        }
+        return result;
+    }
+
+    static long[] shiftRight(long[] a, int n) {
+        int wordShift = n >>> 6;
+        int bitShift = n & 63;
+        if (wordShift >= a.length) {
+            return new long[0];
+        }
+        long[] result = new long[a.length - wordShift];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i + wordShift] >>> bitShift;
+            if (bitShift != 0 && i + wordShift + 1 < a.length) {
+                result[i] |= a[i + wordShift + 1] << (Long.SIZE - bitShift);
+            }
+        }
+        return result;
+    }
+
+    static long bitCount(long[] a) {
+        long count = 0;
+        for (long word : a) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Обмежений потокобезпечний кеш результатів переведення чисел між системами
+ * числення. Ключем є вміст послідовності цифр разом з обома основами, тож
+ * однакові числа у різних списках мають спільний запис.<p>
+ *
+ * Розмір кешу обмежено сумарною кількістю байтів ключів та результатів:
+ * коли її перевищено, витісняються записи, які найдовше не запитували.
+ * Короткі числа переводяться швидше, ніж шукаються в кеші, тому числа з
+ * кількістю цифр, меншою за поріг, не кешуються.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class ConversionCache {
+
+    private static final long DEFAULT_MAX_BYTES = 16L << 20;
+    private static final int DEFAULT_MIN_DIGITS = 64;
+    private static final ConversionCache SHARED = new ConversionCache(DEFAULT_MAX_BYTES, DEFAULT_MIN_DIGITS);
+
+    private final long maxBytes;
+    private final int minDigits;
+    private final LinkedHashMap<Key, String> entries;
+    private long bytesHeld;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates empty cache.
+     *
+     * @param maxBytes - maximal total size of cached digits and results
+     * @param minDigits - numbers with fewer digits are converted without caching
+     */
+    public ConversionCache(long maxBytes, int minDigits) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Місткість кешу має бути додатною: " + maxBytes);
+        }
+        if (minDigits < 0) {
+            throw new IllegalArgumentException("Поріг кількості цифр має бути невід'ємним: " + minDigits);
+        }
+        this.maxBytes = maxBytes;
+        this.minDigits = minDigits;
+        // Порядок доступу: перший елемент - той, що найдовше не запитували
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+
+    /**
+     * Returns cache used by {@link NumberListImpl#changeScale()} and
+     * {@link NumberListImpl#toDecimalString()}.
+     *
+     * @return shared cache.
+     */
+    public static ConversionCache shared() {
+        return SHARED;
+    }
+
+
+    /**
+     * Returns number in target scale of notation, computing it only if
+     * the same digits were not converted yet.
+     *
+     * @param digits - ASCII digits of the number, most significant first;
+     * the array must not be modified afterwards
+     * @param sourceBase - scale of notation of <tt>digits</tt>
+     * @param targetBase - scale of notation of the result
+     * @param conversion - computes result on a miss
+     * @return digits of the number in target scale of notation.
+     */
+    public String convert(byte[] digits, int sourceBase, int targetBase, Supplier<String> conversion) {
+        if (digits.length < minDigits) {
+            return conversion.get();
+        }
+
+        Key key = new Key(digits, sourceBase, targetBase);
+        synchronized (this) {
+            String cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Переводимо поза блокуванням, щоб не затримувати інші потоки
+        String result = conversion.get();
+        long weight = weightOf(key, result);
+        if (weight > maxBytes) {
+            return result;
+        }
+
+        synchronized (this) {
+            String raced = entries.putIfAbsent(key, result);
+            if (raced != null) {
+                return raced;
+            }
+            bytesHeld += weight;
+            evict();
+            return result;
+        }
+    }
+
+    // Витісняє найдавніші записи, доки розмір не стане допустимим
+    private void evict() {
+        Iterator<Map.Entry<Key, String>> it = entries.entrySet().iterator();
+        while (bytesHeld > maxBytes && it.hasNext()) {
+            Map.Entry<Key, String> eldest = it.next();
+            bytesHeld -= weightOf(eldest.getKey(), eldest.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static long weightOf(Key key, String result) {
+        return (long) key.digits.length + result.length();
+    }
+
+
+    /**
+     * Removes all cached results. Counters are not reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytesHeld = 0;
+    }
+
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns total size of cached digits and results.
+     *
+     * @return number of bytes held by the cache.
+     */
+    public synchronized long bytesHeld() {
+        return bytesHeld;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public int minDigits() {
+        return minDigits;
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns ratio of hits to all cacheable requests, or 0 if there were
+     * no such requests.
+     *
+     * @return hit rate in range [0, 1].
+     */
+    public synchronized double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "ConversionCache[size=" + entries.size() + ", bytes=" + bytesHeld + "/" + maxBytes
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+
+
+    // Ключ за вмістом: хеш обчислюється один раз, рівність перевіряється повним порівнянням
+    private static final class Key {
+        private final byte[] digits;
+        private final int sourceBase;
+        private final int targetBase;
+        private final int hash;
+
+        Key(byte[] digits, int sourceBase, int targetBase) {
+            this.digits = digits;
+            this.sourceBase = sourceBase;
+            this.targetBase = targetBase;
+            this.hash = (Arrays.hashCode(digits) * 31 + sourceBase) * 31 + targetBase;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return hash == other.hash && sourceBase == other.sourceBase
+                    && targetBase == other.targetBase && Arrays.equals(digits, other.digits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Формати файлів, у яких число зберігається цифрами своєї системи числення,
+ * старша цифра - перша.<p>
+ *
+ * <tt>BINARY</tt> - заголовок із символів <tt>NLD</tt> та байта основи, далі
+ * по одному байту на цифру (значення цифри, а не символ).<br>
+ * <tt>TEXT</tt> - символи цифр без заголовка, пробільні символи на початку та
+ * в кінці файлу ігноруються.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public enum DigitFileFormat {
+    BINARY,
+    TEXT;
+
+    static final int HEADER_SIZE = 4;
+    private static final byte[] MAGIC = {'N', 'L', 'D'};
+
+    /**
+     * Returns number of bytes before the first digit.
+     */
+    int headerSize() {
+        return this == BINARY ? HEADER_SIZE : 0;
+    }
+
+    /**
+     * Returns header of binary file for specified base.
+     */
+    static byte[] header(int base) {
+        return new byte[] {MAGIC[0], MAGIC[1], MAGIC[2], (byte) base};
+    }
+
+    /**
+     * Returns base stored in header, or -1 if header is not a binary one.
+     */
+    static int baseOf(byte[] header) {
+        if (header.length < HEADER_SIZE) {
+            return -1;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                return -1;
+            }
+        }
+        return header[MAGIC.length];
+    }
+
+    /**
+     * Detects format of file by its header.
+     */
+    static DigitFileFormat detect(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // читаємо, доки заголовок не заповнено або файл не закінчився
+        }
+        return baseOf(header.array()) > 0 ? BINARY : TEXT;
+    }
+
+    /**
+     * Converts stored byte into digit value, or returns -1 if byte is not
+     * a digit of specified base.
+     */
+    int toDigit(byte b, int base) {
+        int digit = this == BINARY ? b : Character.digit((char) b, base);
+        return digit >= 0 && digit < base ? digit : -1;
+    }
+
+    /**
+     * Converts digit value into stored byte.
+     */
+    byte toByte(int digit) {
+        return this == BINARY ? (byte) digit : DigitScanner.DIGIT_CHARS[digit];
+    }
+}
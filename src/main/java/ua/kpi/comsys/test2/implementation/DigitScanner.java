@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Пакетна обробка масивів цифр по 8 байтів за раз (SWAR - SIMD within a register).
+ * Кожна цифра зберігається в окремому байті, тому одне читання <tt>long</tt>
+ * перевіряє вісім цифр одночасно; хвіст масиву обробляється поелементно.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class DigitScanner {
+
+    // Читання/запис масиву байтів як послідовності long (little-endian)
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong SEGMENT_LONG =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH = 0x8080808080808080L;
+    private static final long ZERO_CHARS = 0x3030303030303030L;
+
+    // Символи цифр для систем числення до 36
+    static final byte[] DIGIT_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes();
+
+    private DigitScanner() {
+    }
+
+    // Маска, в якій старший біт байта встановлено рівно для нульових байтів x
+    private static long zeroBytes(long x) {
+        long y = (x & LOW7) + LOW7;
+        return ~(y | x | LOW7);
+    }
+
+    /**
+     * Returns index of the first occurrence of digit in range
+     * <tt>[from, to)</tt>, or -1 if there is no such digit.
+     */
+    static int indexOf(byte[] a, int from, int to, byte digit) {
+        long pattern = ONES * (digit & 0xFF);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long mask = zeroBytes((long) LONGS.get(a, i) ^ pattern);
+            if (mask != 0) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] == digit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns index of the last occurrence of digit in range
+     * <tt>[from, to)</tt>, or -1 if there is no such digit.
+     */
+    static int lastIndexOf(byte[] a, int from, int to, byte digit) {
+        long pattern = ONES * (digit & 0xFF);
+        int i = to;
+        for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+            long mask = zeroBytes((long) LONGS.get(a, i - Long.BYTES) ^ pattern);
+            if (mask != 0) {
+                return i - 1 - (Long.numberOfLeadingZeros(mask) >>> 3);
+            }
+        }
+        for (i--; i >= from; i--) {
+            if (a[i] == digit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts every digit of range <tt>[from, to)</tt>. Digits have to be
+     * already validated, <tt>histogram</tt> must be at least <tt>base</tt> long.
+     */
+    static void histogram(byte[] a, int from, int to, int[] histogram) {
+        // Чотири окремі таблиці, щоб сусідні однакові цифри не чекали одна на одну
+        int[] h1 = new int[histogram.length];
+        int[] h2 = new int[histogram.length];
+        int[] h3 = new int[histogram.length];
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            histogram[a[i]]++;
+            h1[a[i + 1]]++;
+            h2[a[i + 2]]++;
+            h3[a[i + 3]]++;
+        }
+        for (; i < to; i++) {
+            histogram[a[i]]++;
+        }
+        for (int d = 0; d < histogram.length; d++) {
+            histogram[d] += h1[d] + h2[d] + h3[d];
+        }
+    }
+
+    /**
+     * Returns index of the first element of range <tt>[from, to)</tt> which
+     * is not a valid digit of given base, or -1 if all digits are valid.
+     */
+    static int firstInvalid(byte[] a, int from, int to, int base) {
+        // Байт b некоректний, якщо b < 0 (старший біт) або (b & 0x7F) + (128 - base) >= 128
+        long bias = ONES * (128 - base);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long x = (long) LONGS.get(a, i);
+            long mask = (x | ((x & LOW7) + bias)) & HIGH;
+            if (mask != 0) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] < 0 || a[i] >= base) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns index of the first byte of range <tt>[from, to)</tt> of segment
+     * which is not a valid digit of given base, or -1 if all digits are valid.
+     */
+    static int firstInvalid(MemorySegment a, int from, int to, int base) {
+        long bias = ONES * (128 - base);
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long x = a.get(SEGMENT_LONG, i);
+            long mask = (x | ((x & LOW7) + bias)) & HIGH;
+            if (mask != 0) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = a.get(ValueLayout.JAVA_BYTE, i);
+            if (b < 0 || b >= base) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes ASCII characters of <tt>length</tt> digits starting from
+     * <tt>src[srcOff]</tt> into <tt>dst</tt> starting from <tt>dstOff</tt>.
+     */
+    static void toAscii(byte[] src, int srcOff, int length, byte[] dst, int dstOff, int base) {
+        int i = 0;
+        if (base <= 10) {
+            // Цифри 0..9 перетворюються на '0'..'9' додаванням 0x30 до кожного байта без переносів
+            for (; i + Long.BYTES <= length; i += Long.BYTES) {
+                LONGS.set(dst, dstOff + i, (long) LONGS.get(src, srcOff + i) + ZERO_CHARS);
+            }
+        }
+        for (; i < length; i++) {
+            dst[dstOff + i] = DIGIT_CHARS[src[srcOff + i]];
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Прозоре стиснення текстових файлів з числами форматом gzip. Стиснений
+ * вхід розпізнається за сигнатурою <tt>1f 8b</tt>, а не за назвою файлу;
+ * вихід стискається, якщо назва файлу закінчується на <tt>.gz</tt>.
+ * Дані стискаються та розпаковуються потоком, без проміжного буфера на
+ * весь файл.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class GzipFiles {
+
+    static final String SUFFIX = ".gz";
+    private static final int MAGIC_0 = 0x1f;
+    private static final int MAGIC_1 = 0x8b;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private GzipFiles() {
+    }
+
+    /**
+     * Opens file for reading, decompressing it if it is gzip-compressed.
+     */
+    static InputStream openInput(File file) throws IOException {
+        return decode(new FileInputStream(file));
+    }
+
+    /**
+     * Returns stream which decompresses <tt>in</tt> if it starts with gzip
+     * signature, or reads it as is otherwise. The returned stream owns
+     * <tt>in</tt>; if this method fails, <tt>in</tt> is closed.
+     */
+    static InputStream decode(InputStream in) throws IOException {
+        try {
+            PushbackInputStream pushback = new PushbackInputStream(in, 2);
+            byte[] magic = pushback.readNBytes(2);
+            pushback.unread(magic);
+            if (magic.length == 2 && (magic[0] & 0xFF) == MAGIC_0 && (magic[1] & 0xFF) == MAGIC_1) {
+                return new GZIPInputStream(pushback, BUFFER_SIZE);
+            }
+            return pushback;
+        } catch (IOException | RuntimeException e) {
+            closeAfterFailure(in, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens buffered file for writing; output is gzip-compressed if file
+     * name ends with <tt>.gz</tt>.
+     */
+    static OutputStream openOutput(File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        if (isCompressedName(file.toPath())) {
+            try {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            } catch (IOException | RuntimeException e) {
+                closeAfterFailure(out, e);
+                throw e;
+            }
+        }
+        return new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Returns decimal digits of <tt>value</tt>, compressed if file name ends
+     * with <tt>.gz</tt>. Digits are streamed into the buffer, without
+     * decimal string of the whole number.
+     */
+    static ByteBuffer encodeDecimal(Path path, BigInteger value) throws IOException {
+        // Кількість десяткових цифр - не більше bitLength * log10(2) + 1
+        int digits = (int) Math.min(Integer.MAX_VALUE - 16, (long) (value.bitLength() * 0.30103) + 1);
+        boolean compressed = isCompressedName(path);
+        Buffer bytes = new Buffer(compressed ? digits / 2 + 64 : digits);
+        try (OutputStream out = compressed ? new GZIPOutputStream(bytes, BUFFER_SIZE) : bytes) {
+            RadixConverter.writeDecimal(value, out);
+        }
+        return bytes.asByteBuffer();
+    }
+
+    static boolean isCompressedName(Path path) {
+        Path name = path.getFileName();
+        return name != null && name.toString().endsWith(SUFFIX);
+    }
+
+    private static void closeAfterFailure(Closeable stream, Throwable failure) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // Буфер, вміст якого передається для запису без копіювання
+    private static final class Buffer extends ByteArrayOutputStream {
+        Buffer(int size) {
+            super(size);
+        }
+
+        ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+    /**
+     * Stream which counts bytes read from the underlying stream, e.g.
+     * compressed bytes of a file under {@link #decode(InputStream)}.
+     */
+    static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Обмежений потокобезпечний кеш незмінних чисел за їхнім десятковим рядком.
+ * Повторний запит того самого рядка повертає той самий екземпляр без розбору
+ * та виділення пам'яті. Коли кеш заповнено, витісняється число, яке
+ * найдовше не запитували (LRU).
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class NumberCache {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final NumberCache SHARED = new NumberCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final LinkedHashMap<String, NumberListImpl> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates empty cache.
+     *
+     * @param capacity - maximal number of cached numbers
+     */
+    public NumberCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Місткість кешу має бути додатною: " + capacity);
+        }
+        this.capacity = capacity;
+        // Порядок доступу: перший елемент - той, що найдовше не запитували
+        this.entries = new LinkedHashMap<String, NumberListImpl>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NumberListImpl> eldest) {
+                if (size() > NumberCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+    /**
+     * Returns cache used by {@link NumberListImpl#valueOf(String)}.
+     *
+     * @return shared cache.
+     */
+    public static NumberCache shared() {
+        return SHARED;
+    }
+
+
+    /**
+     * Returns immutable list for <b>decimal</b> number in string notation,
+     * parsing it only if it is not cached yet.
+     *
+     * @param value - number in string notation.
+     * @return immutable list, shared between callers.
+     */
+    public NumberListImpl get(String value) {
+        synchronized (this) {
+            NumberListImpl cached = entries.get(value);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Розбираємо поза блокуванням, щоб не затримувати інші потоки
+        NumberListImpl parsed = new NumberListImpl(value).makeImmutable();
+
+        synchronized (this) {
+            NumberListImpl raced = entries.putIfAbsent(value, parsed);
+            return raced != null ? raced : parsed;
+        }
+    }
+
+
+    /**
+     * Removes all cached numbers. Counters are not reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns ratio of hits to all requests, or 0 if there were no requests.
+     *
+     * @return hit rate in range [0, 1].
+     */
+    public synchronized double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "NumberCache[size=" + entries.size() + "/" + capacity + ", hits=" + hits
+                + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Відкладений вираз над числами <tt>NumberListImpl</tt>, наприклад
+ * <tt>a.lazy().subtract(b).subtract(c).toBase(10).writeTo(path)</tt>.<p>
+ *
+ * Проміжні операції лише будують граф виразу. Обчислення виконується
+ * один раз у завершальній операції ({@link #toList()},
+ * {@link #toDecimalString()}, {@link #writeTo(Path)}): операнди
+ * читаються як двійкові значення, усі віднімання виконуються без
+ * проміжних списків і рядків, а з кількох переведень у іншу систему
+ * числення виконується лише останнє, і лише якщо результат потрібен у
+ * вигляді списку.<p>
+ *
+ * Вирази незмінні; списки-операнди читаються під час обчислення, тож
+ * кожна завершальна операція бачить їх поточний вміст.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class NumberExpression {
+
+    private final NumberListImpl source; // лист графа, або null для віднімання
+    private final NumberExpression minuend;
+    private final NumberExpression subtrahend;
+    private final int base; // основа системи числення результату
+
+    NumberExpression(NumberListImpl source) {
+        this(source, null, null, source.getBase());
+    }
+
+    private NumberExpression(NumberListImpl source, NumberExpression minuend,
+                             NumberExpression subtrahend, int base) {
+        this.source = source;
+        this.minuend = minuend;
+        this.subtrahend = subtrahend;
+        this.base = base;
+    }
+
+
+    /**
+     * Returns expression of subtraction of specified number, like
+     * {@link NumberListImpl#additionalOperation(NumberList)}: negative
+     * difference is an empty list.
+     *
+     * @param arg - number to subtract
+     * @return new expression, this one is not changed.
+     */
+    public NumberExpression subtract(NumberList arg) {
+        return subtract(((NumberListImpl) arg).lazy());
+    }
+
+
+    /**
+     * Returns expression of subtraction of value of specified expression.
+     *
+     * @param arg - expression to subtract
+     * @return new expression, this one is not changed.
+     */
+    public NumberExpression subtract(NumberExpression arg) {
+        return new NumberExpression(null, this, arg, base);
+    }
+
+
+    /**
+     * Returns expression with the same value in specified scale of notation,
+     * like {@link NumberListImpl#changeScale(int)}. Only the last of
+     * consecutive conversions takes effect.
+     *
+     * @param targetBase - base of number system of the result, from 2 to 36
+     * @return new expression, this one is not changed.
+     * @throws IllegalArgumentException if base is out of range.
+     */
+    public NumberExpression toBase(int targetBase) {
+        RadixConverter.checkBase(targetBase);
+        return new NumberExpression(source, minuend, subtrahend, targetBase);
+    }
+
+
+    /**
+     * Returns expression in scale of notation, defined by personal test
+     * assignment, like {@link NumberListImpl#changeScale()}.
+     *
+     * @return new expression, this one is not changed.
+     */
+    public NumberExpression changeScale() {
+        return toBase(NumberListImpl.ADDITIONAL_BASE);
+    }
+
+
+    /**
+     * Returns base of number system of the result.
+     *
+     * @return base of number system.
+     */
+    public int getBase() {
+        return base;
+    }
+
+
+    /**
+     * Evaluates the expression into a new list.
+     *
+     * @return new <tt>NumberListImpl</tt> in scale of notation of the expression.
+     */
+    public NumberListImpl toList() {
+        if (source != null) {
+            return source.changeScale(base);
+        }
+        BigInteger value = evaluate();
+        return value == null ? new NumberListImpl(base) : NumberListImpl.fromBigInteger(value, base);
+    }
+
+
+    /**
+     * Evaluates the expression into <b>decimal</b> string, like
+     * {@link NumberListImpl#toDecimalString()}. No list is created.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        if (source != null) {
+            return source.toDecimalString();
+        }
+        BigInteger value = evaluate();
+        return value == null ? "0" : value.toString();
+    }
+
+
+    /**
+     * Evaluates the expression and saves it into specified file in
+     * <b>decimal</b> scale of notation, like
+     * {@link NumberListImpl#saveList(java.io.File)}: the file is
+     * gzip-compressed if its name ends with <tt>.gz</tt>. No list is created.
+     *
+     * @param path - file where number has to be stored.
+     * @throws IOException if file can not be written.
+     */
+    public void writeTo(Path path) throws IOException {
+        BigInteger value = evaluate();
+        try (OutputStream out = GzipFiles.openOutput(path.toFile())) {
+            RadixConverter.writeDecimal(value == null ? BigInteger.ZERO : value, out);
+        }
+    }
+
+    // Значення виразу; null - порожній список (від'ємна різниця)
+    private BigInteger evaluate() {
+        if (source != null) {
+            return source.isEmpty() ? null : source.toBigInteger();
+        }
+        BigInteger a = minuend.evaluate();
+        BigInteger b = subtrahend.evaluate();
+        // Порожній список віднімається як нуль
+        BigInteger difference = (a == null ? BigInteger.ZERO : a).subtract(b == null ? BigInteger.ZERO : b);
+        return difference.signum() < 0 ? null : difference;
+    }
+}
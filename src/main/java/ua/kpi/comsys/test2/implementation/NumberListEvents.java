@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Події Java Flight Recorder для повільних операцій {@link NumberListImpl}.
+ * Кожна подія містить тривалість операції та розміри чисел, тож у записі
+ * JFR повільні запити можна зіставити з конкретними розмірами чисел.<p>
+ *
+ * Поки запис JFR не ввімкнено, події не мають помітної вартості.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class NumberListEvents {
+
+    private static final String CATEGORY = "NumberList";
+
+    private NumberListEvents() {
+    }
+
+    @Name("ua.kpi.comsys.test2.ChangeScale")
+    @Label("Change Scale")
+    @Category(CATEGORY)
+    @Description("Conversion of number into other scale of notation")
+    @StackTrace(false)
+    static final class ChangeScale extends Event {
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Result Digits")
+        int resultDigits;
+
+        @Label("Result Base")
+        int resultBase;
+    }
+
+    @Name("ua.kpi.comsys.test2.AdditionalOperation")
+    @Label("Additional Operation")
+    @Category(CATEGORY)
+    @Description("Subtraction of two numbers")
+    @StackTrace(false)
+    static final class AdditionalOperation extends Event {
+        @Label("Digits")
+        int digits;
+
+        @Label("Argument Digits")
+        int argumentDigits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Result Digits")
+        int resultDigits;
+    }
+
+    @Name("ua.kpi.comsys.test2.SaveList")
+    @Label("Save List")
+    @Category(CATEGORY)
+    @Description("Writing of decimal number into file")
+    static final class SaveList extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Bytes Written")
+        @DataAmount
+        long bytesWritten;
+    }
+
+    @Name("ua.kpi.comsys.test2.LoadList")
+    @Label("Load List")
+    @Category(CATEGORY)
+    @Description("Reading of decimal number from file")
+    static final class LoadList extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Digits")
+        int digits;
+
+        @Label("Base")
+        int base;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+    }
+}
@@ -7,18 +7,32 @@
 
 package ua.kpi.comsys.test2.implementation;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import ua.kpi.comsys.test2.NumberList;
 
 /**
@@ -32,22 +46,35 @@ import ua.kpi.comsys.test2.NumberList;
 public class NumberListImpl implements NumberList {
 
     private static final int DEFAULT_BASE = 8; // вісімкова система за замовчуванням
-    private static final int ADDITIONAL_BASE = 10; // десяткова система для changeScale
+    static final int ADDITIONAL_BASE = 10; // десяткова система для changeScale
+
+    private static final int NIL = -1; // відсутній вузол
+    private static final int INITIAL_CAPACITY = 16;
 
     private final int base; // основа системи числення
-    private Node head; // голова списку
+    private int head; // голова списку
     private int size; // розмір списку
 
-    // Клас для вузла двонаправленого списку
-    private static class Node {
-        Byte data;
-        Node next;
-        Node prev;
-
-        Node(Byte data) {
-            this.data = data;
-        }
-    }
+    // Вузли двонаправленого списку зберігаються у паралельних масивах:
+    // вузол - це індекс, digits[i] - його цифра, next[i] і prev[i] - сусіди.
+    // Звільнені вузли зв'язані через next[] у список вільних, починаючи з freeHead,
+    // тож вставки та видалення повторно використовують ті самі комірки.
+    private byte[] digits;
+    private int[] next;
+    private int[] prev;
+    private int freeHead; // перший вільний вузол
+    private int used; // кількість комірок, які хоч раз виділялись
+    private boolean immutable; // спільний екземпляр з кешу, зміни заборонені
+    private int modCount; // кількість структурних змін, для виявлення змін під час ітерації
+
+    // Останній знайдений за індексом вузол ("палець"); дійсний, поки fingerModCount == modCount.
+    // Незмінні списки спільні для потоків, тому для них палець не використовується
+    private int fingerNode = NIL;
+    private int fingerIndex;
+    private int fingerModCount;
+
+    private ValueAccumulator accumulator; // двійкове значення, яке оновлюється при дописуванні; null - вимкнено
+    private ResidueTracker residues; // остачі за вибраними модулями; null - вимкнено
 
     /**
      * Default constructor. Returns empty <tt>NumberListImpl</tt>
@@ -57,34 +84,88 @@ public class NumberListImpl implements NumberList {
     }
 
     /**
-     * Constructor with custom base.
+     * Constructor with custom base. Returns empty <tt>NumberListImpl</tt>
+     * for digits of specified scale of notation.
      *
-     * @param base - base of number system
+     * @param base - base of number system, from 2 to 36
+     * @throws IllegalArgumentException if base is out of range.
      */
-    private NumberListImpl(int base) {
+    public NumberListImpl(int base) {
+        RadixConverter.checkBase(base);
         this.base = base;
-        this.head = null;
-        this.size = 0;
+        this.digits = new byte[INITIAL_CAPACITY];
+        this.next = new int[INITIAL_CAPACITY];
+        this.prev = new int[INITIAL_CAPACITY];
+        clear();
+    }
+
+    // Виділяє вузол із цифрою: спершу зі списку вільних, потім нову комірку
+    private int newNode(byte digit) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = next[node];
+        } else {
+            if (used == digits.length) {
+                int capacity = used + (used >> 1) + 1;
+                digits = Arrays.copyOf(digits, capacity);
+                next = Arrays.copyOf(next, capacity);
+                prev = Arrays.copyOf(prev, capacity);
+            }
+            node = used++;
+        }
+        digits[node] = digit;
+        return node;
+    }
+
+    // Повертає вузол у список вільних
+    private void freeNode(int node) {
+        next[node] = freeHead;
+        freeHead = node;
+    }
+
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("Список незмінний");
+        }
     }
 
 
     /**
      * Constructs new <tt>NumberListImpl</tt> by <b>decimal</b> number
-     * from file, defined in string format.
+     * from file, defined in string format. Gzip-compressed file is
+     * recognized by its signature and decompressed while reading.
      *
      * @param file - file where number is stored.
      */
     public NumberListImpl(File file) {
         this();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line = reader.readLine();
-            if (line != null && !line.trim().isEmpty()) {
-                convertFromDecimal(line.trim());
+        long start = NumberListMetrics.start();
+        NumberListEvents.LoadList event = new NumberListEvents.LoadList();
+        event.begin();
+        // Шматки тексту переводяться паралельно, рядок не зберігається цілком
+        ParallelDecimalParser parser = new ParallelDecimalParser(ForkJoinPool.commonPool());
+        GzipFiles.CountingInputStream fileBytes = null; // байти файлу на диску, до розпакування
+        try {
+            fileBytes = new GzipFiles.CountingInputStream(new FileInputStream(file));
+            try (InputStream in = GzipFiles.decode(fileBytes)) {
+                BigInteger value = parser.parse(in);
+                if (value != null) {
+                    appendValue(value);
+                }
             }
         } catch (IOException e) {
             // Якщо файл не знайдено, створюємо порожній список
             // (список вже порожній після виклику this())
         }
+        NumberListMetrics.record(NumberListMetrics.Operation.LOAD, start, size);
+        if (event.shouldCommit()) {
+            event.bytesRead = fileBytes == null ? 0 : fileBytes.count();
+            event.path = file.getPath();
+            event.digits = size;
+            event.base = base;
+            event.commit();
+        }
     }
 
 
@@ -99,6 +180,20 @@ public class NumberListImpl implements NumberList {
         convertFromDecimal(value);
     }
 
+
+    /**
+     * Constructs new <tt>NumberListImpl</tt> in specified scale of notation
+     * by <b>decimal</b> number in string notation.
+     *
+     * @param value - number in string notation.
+     * @param base - base of number system of the list, from 2 to 36
+     * @throws IllegalArgumentException if base is out of range.
+     */
+    public NumberListImpl(String value, int base) {
+        this(base);
+        convertFromDecimal(value);
+    }
+
     // Конвертує десяткове число у систему з поточною базою і додає в список
     private void convertFromDecimal(String decimalValue) {
         try {
@@ -133,19 +228,214 @@ public class NumberListImpl implements NumberList {
 
     /**
      * Saves the number, stored in the list, into specified file
-     * in <b>decimal</b> scale of notation.
+     * in <b>decimal</b> scale of notation. If file name ends with
+     * <tt>.gz</tt>, the file is gzip-compressed.
      *
      * @param file - file where number has to be stored.
      */
     public void saveList(File file) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write(toDecimalString());
+        long start = NumberListMetrics.start();
+        NumberListEvents.SaveList event = new NumberListEvents.SaveList();
+        event.begin();
+        try (OutputStream out = GzipFiles.openOutput(file)) {
+            // Цифри пишуться шматками, без десяткового рядка на все число
+            RadixConverter.writeDecimal(toBigInteger(), out);
+        } catch (IOException e) {
+            throw new RuntimeException("Помилка запису у файл", e);
+        }
+        NumberListMetrics.record(NumberListMetrics.Operation.SAVE, start, size);
+        if (event.shouldCommit()) {
+            event.path = file.getPath();
+            event.digits = size;
+            event.base = base;
+            event.bytesWritten = file.length();
+            event.commit();
+        }
+    }
+
+
+    /**
+     * Asynchronously loads <tt>NumberListImpl</tt> from file with <b>decimal</b>
+     * number, like {@link #NumberListImpl(File)}. Unlike the constructor,
+     * I/O errors are not swallowed but complete the future exceptionally.
+     *
+     * @param path - file where number is stored.
+     * @return future of loaded list.
+     */
+    public static CompletableFuture<NumberListImpl> loadAsync(Path path) {
+        return loadAsync(path, null);
+    }
+
+
+    /**
+     * Asynchronously loads <tt>NumberListImpl</tt> from file with <b>decimal</b>
+     * number. Completion handlers and parsing run in specified executor.
+     *
+     * @param path - file where number is stored.
+     * @param executor - executor for completion handlers, <tt>null</tt> for
+     * the default thread pool of asynchronous channels.
+     * @return future of loaded list.
+     */
+    public static CompletableFuture<NumberListImpl> loadAsync(Path path, ExecutorService executor) {
+        return AsyncFileIo.readAll(path, executor).thenApply(NumberListImpl::fromDecimalBytes);
+    }
+
+    // Розбирає перший рядок файлу так само, як конструктор з File
+    private static NumberListImpl fromDecimalBytes(byte[] data) {
+        NumberListImpl list = new NumberListImpl();
+        try (InputStream in = GzipFiles.decode(new ByteArrayInputStream(data))) {
+            BigInteger value = new ParallelDecimalParser(ForkJoinPool.commonPool()).parse(in);
+            if (value != null) {
+                list.appendValue(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return list;
+    }
+
+
+    /**
+     * Asynchronously saves the number, stored in the list, into specified
+     * file in <b>decimal</b> scale of notation, like {@link #saveList(File)}.
+     * The decimal value is computed before this method returns, so later
+     * modifications of the list do not affect saved value.
+     *
+     * @param path - file where number has to be stored.
+     * @return future completed when file is written.
+     */
+    public CompletableFuture<Void> saveAsync(Path path) {
+        return saveAsync(path, null);
+    }
+
+
+    /**
+     * Asynchronously saves the number, stored in the list, into specified
+     * file in <b>decimal</b> scale of notation, gzip-compressed if file name
+     * ends with <tt>.gz</tt>. Completion handlers run in specified executor.
+     *
+     * @param path - file where number has to be stored.
+     * @param executor - executor for completion handlers, <tt>null</tt> for
+     * the default thread pool of asynchronous channels.
+     * @return future completed when file is written.
+     */
+    public CompletableFuture<Void> saveAsync(Path path, ExecutorService executor) {
+        ByteBuffer data;
+        try {
+            // BigInteger - знімок значення; цифри пишуться в буфер без десяткового рядка
+            data = GzipFiles.encodeDecimal(path, toBigInteger());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return AsyncFileIo.writeAll(path, data, executor);
+    }
+
+
+    /**
+     * Saves digits of the list into specified file in binary format:
+     * header, then one byte per digit, most significant first.
+     *
+     * @param file - file where digits have to be stored.
+     * @see DigitFileFormat#BINARY
+     */
+    public void saveSnapshot(File file) {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            out.write(DigitFileFormat.header(base));
+            if (!isEmpty()) {
+                int current = head;
+                do {
+                    out.write(digits[current]);
+                    current = next[current];
+                } while (current != head);
+            }
         } catch (IOException e) {
             throw new RuntimeException("Помилка запису у файл", e);
         }
     }
 
 
+    /**
+     * Loads <tt>NumberListImpl</tt> from file in binary format, written by
+     * {@link #saveSnapshot(File)}.
+     *
+     * @param file - file where digits are stored.
+     * @return loaded list.
+     * @throws IOException if file can not be read or is not a valid snapshot.
+     */
+    public static NumberListImpl loadSnapshot(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            byte[] header = in.readNBytes(DigitFileFormat.HEADER_SIZE);
+            int base = DigitFileFormat.baseOf(header);
+            if (base < RadixConverter.MIN_BASE || base > RadixConverter.MAX_BASE) {
+                throw new IOException("Файл не містить числа у підтримуваній системі числення: " + file);
+            }
+
+            NumberListImpl list = new NumberListImpl(base);
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (b >= base) {
+                    throw new IOException("Некоректна цифра у файлі: " + file);
+                }
+                list.add((byte) b);
+            }
+            return list;
+        }
+    }
+
+
+    /**
+     * Returns immutable <tt>NumberListImpl</tt> for <b>decimal</b> number in
+     * string notation. Frequently used numbers are taken from shared
+     * {@link NumberCache#shared() cache} without parsing and allocation.
+     * Use {@link #mutableCopy()} to obtain a list that can be modified.
+     *
+     * @param value - number in string notation.
+     * @return immutable list, possibly shared.
+     */
+    public static NumberListImpl valueOf(String value) {
+        return NumberCache.shared().get(value);
+    }
+
+
+    /**
+     * Returns <tt>true</tt> if the list can not be modified.
+     *
+     * @return <tt>true</tt> if modifying operations throw
+     * <tt>UnsupportedOperationException</tt>.
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    // Забороняє подальші зміни списку
+    NumberListImpl makeImmutable() {
+        immutable = true;
+        // Трекери перераховуються ліниво під час читання, а читачів спільного
+        // списку може бути кілька; без них значення та остачі рахуються щоразу
+        accumulator = null;
+        residues = null;
+        return this;
+    }
+
+
+    /**
+     * Returns modifiable copy of the list.
+     *
+     * @return new <tt>NumberListImpl</tt> with the same digits and base.
+     */
+    public NumberListImpl mutableCopy() {
+        NumberListImpl copy = new NumberListImpl(base);
+        if (!isEmpty()) {
+            int current = head;
+            do {
+                copy.add(digits[current]);
+                current = next[current];
+            } while (current != head);
+        }
+        return copy;
+    }
+
+
     /**
      * Returns student's record book number, which has 4 decimal digits.
      *
@@ -165,19 +455,265 @@ public class NumberListImpl implements NumberList {
      * @return <tt>NumberListImpl</tt> in other scale of notation.
      */
     public NumberListImpl changeScale() {
-        // Переводимо з поточної системи в десяткову
-        String decimalValue = toDecimalString();
+        return changeScale(ADDITIONAL_BASE);
+    }
 
-        // Створюємо новий список для додаткової системи числення (десяткової)
-        NumberListImpl result = new NumberListImpl(ADDITIONAL_BASE);
 
-        // Конвертуємо з десяткової в додаткову систему
-        result.convertFromDecimal(decimalValue);
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the same number
+     * in specified scale of notation. Conversion between power-of-two bases
+     * (2, 4, 8, 16, 32) takes linear time.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param targetBase - base of number system of the result, from 2 to 36
+     * @return <tt>NumberListImpl</tt> in specified scale of notation.
+     * @throws IllegalArgumentException if base is out of range.
+     */
+    public NumberListImpl changeScale(int targetBase) {
+        RadixConverter.checkBase(targetBase);
+        long start = NumberListMetrics.start();
+        NumberListEvents.ChangeScale event = new NumberListEvents.ChangeScale();
+        event.begin();
+
+        NumberListImpl result = new NumberListImpl(targetBase);
+        if (RadixConverter.canRegroup(base, targetBase)) {
+            // Цифри обох систем - групи бітів, достатньо перегрупувати біти
+            for (byte digit : RadixConverter.regroup(digitValues(), 0, size, base, targetBase)) {
+                result.add(digit);
+            }
+        } else {
+            // Загальний шлях (результат для великих чисел кешується)
+            String scaled = toBaseString(targetBase);
+            for (int i = 0; i < scaled.length(); i++) {
+                result.add((byte) Character.digit(scaled.charAt(i), targetBase));
+            }
+        }
 
+        NumberListMetrics.record(NumberListMetrics.Operation.CHANGE_SCALE, start, size);
+        if (event.shouldCommit()) {
+            event.digits = size;
+            event.base = base;
+            event.resultDigits = result.size;
+            event.resultBase = targetBase;
+            event.commit();
+        }
         return result;
     }
 
 
+    /**
+     * Returns lazy expression over this list. Operations on the expression
+     * are evaluated once, by its terminal operation, without intermediate
+     * lists and decimal strings.
+     *
+     * @return expression whose value is this list.
+     * @see NumberExpression
+     */
+    public NumberExpression lazy() {
+        return new NumberExpression(this);
+    }
+
+
+    /**
+     * Returns base of number system of this list.
+     *
+     * @return base of number system.
+     */
+    public int getBase() {
+        return base;
+    }
+
+    /**
+     * Turns on or off maintaining of binary value of the number while digits
+     * are appended to the end of the list. With tracking on, the value used by
+     * {@link #equals(Object)}, {@link #additionalOperation(NumberList)},
+     * {@link #toDecimalString()} and saving is updated on every
+     * {@link #add(Byte)} and is ready without a conversion pass. Other
+     * modifications make the value stale until it is needed next time.
+     *
+     * @param enabled - <tt>true</tt> to maintain the value
+     * @throws UnsupportedOperationException if the list is immutable.
+     */
+    public void setValueTracking(boolean enabled) {
+        checkMutable();
+        if (!enabled) {
+            accumulator = null;
+        } else if (accumulator == null) {
+            accumulator = new ValueAccumulator(base);
+            if (!isEmpty()) {
+                accumulator.invalidate();
+            }
+        }
+    }
+
+
+    /**
+     * Returns <tt>true</tt> if binary value of the number is maintained
+     * while digits are appended.
+     *
+     * @return <tt>true</tt> if value tracking is on.
+     */
+    public boolean isValueTracking() {
+        return accumulator != null;
+    }
+
+    /**
+     * Sets moduli whose residues are maintained while the list is modified,
+     * so that {@link #mod(int)} for them takes O(1). Appending a digit to
+     * the end or replacing a digit updates residues in O(log n); insertion
+     * and removal in the middle additionally read the shorter part of the
+     * number around the position. Without arguments tracking is turned off.
+     *
+     * @param moduli - moduli, each at least 1
+     * @throws IllegalArgumentException if some modulus is not positive.
+     * @throws UnsupportedOperationException if the list is immutable.
+     */
+    public void setTrackedModuli(int... moduli) {
+        checkMutable();
+        if (moduli.length == 0) {
+            residues = null;
+            return;
+        }
+        for (int m : moduli) {
+            checkModulus(m);
+        }
+        residues = new ResidueTracker(base, moduli);
+        if (!isEmpty()) {
+            residues.invalidate();
+        }
+    }
+
+
+    /**
+     * Returns moduli whose residues are maintained.
+     *
+     * @return tracked moduli, empty if tracking is off.
+     */
+    public int[] getTrackedModuli() {
+        return residues == null ? new int[0] : residues.userModuli();
+    }
+
+
+    /**
+     * Returns remainder of division of the number by <tt>m</tt>. Takes O(1)
+     * for {@link #setTrackedModuli(int...) tracked} moduli and O(n) without
+     * conversion into other scale of notation otherwise.
+     *
+     * @param m - modulus
+     * @return residue in range <tt>[0, m)</tt>.
+     * @throws IllegalArgumentException if <tt>m</tt> is not positive.
+     */
+    public int mod(int m) {
+        checkModulus(m);
+        if (residues != null) {
+            int k = residues.indexOf(m);
+            if (k >= 0) {
+                return (int) trackedResidue(k);
+            }
+        }
+
+        long residue = 0;
+        int current = head;
+        for (int i = 0; i < size; i++) {
+            residue = (residue * base + digits[current]) % m;
+            current = next[current];
+        }
+        return (int) residue;
+    }
+
+
+    /**
+     * Returns checksum of digits of the list: residue of the number modulo
+     * prime <tt>2<sup>31</sup> - 1</tt> in lower half and number of digits
+     * in upper half. Maintained together with tracked residues.
+     *
+     * @return checksum of the list.
+     */
+    public long checksum() {
+        long residue = residues != null
+                ? trackedResidue(residues.count() - 1)
+                : mod(ResidueTracker.CHECKSUM_MODULUS);
+        return (long) size << 32 | residue;
+    }
+
+    private static void checkModulus(int m) {
+        if (m <= 0) {
+            throw new IllegalArgumentException("Модуль має бути додатним: " + m);
+        }
+    }
+
+    // Остача за відстежуваним модулем; після масових змін перераховується одним проходом
+    private long trackedResidue(int k) {
+        if (!residues.isValid()) {
+            residues.reset(prefixResidues(size));
+        }
+        return residues.residue(k);
+    }
+
+    // Остачі числа з перших count цифр
+    private long[] prefixResidues(int count) {
+        long[] acc = residues.zero();
+        int current = head;
+        for (int i = 0; i < count; i++) {
+            residues.appendTo(acc, digits[current]);
+            current = next[current];
+        }
+        return acc;
+    }
+
+    // Остачі числа з останніх count цифр
+    private long[] suffixResidues(int count) {
+        long[] acc = residues.zero();
+        long[] weight = residues.ones();
+        int current = head == NIL ? NIL : prev[head];
+        for (int i = 0; i < count; i++) {
+            residues.addLowDigit(acc, weight, digits[current]);
+            current = prev[current];
+        }
+        return acc;
+    }
+
+    // Список з цифрами невід'ємного значення; від'ємне значення - порожній список
+    static NumberListImpl fromBigInteger(BigInteger value, int base) {
+        NumberListImpl result = new NumberListImpl(base);
+        if (value.signum() >= 0) {
+            result.appendValue(value);
+        }
+        return result;
+    }
+
+    // Дописує цифри невід'ємного значення в кінець списку
+    private void appendValue(BigInteger value) {
+        byte[] digits;
+        if (RadixConverter.isPowerOfTwo(base)) {
+            // Байти магнітуди - цифри основи 256, їх достатньо перегрупувати
+            byte[] magnitude = value.toByteArray();
+            digits = RadixConverter.regroup(magnitude, 0, magnitude.length, 256, base);
+        } else {
+            String digitString = value.toString(base);
+            digits = new byte[digitString.length()];
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = (byte) Character.digit(digitString.charAt(i), base);
+            }
+        }
+        for (byte digit : digits) {
+            add(digit);
+        }
+    }
+
+    // Значення цифр списку, старша цифра перша
+    private byte[] digitValues() {
+        byte[] values = new byte[size];
+        int current = head;
+        for (int i = 0; i < size; i++) {
+            values[i] = digits[current];
+            current = next[current];
+        }
+        return values;
+    }
+
+
     /**
      * Returns new <tt>NumberListImpl</tt> which represents the result of
      * additional operation, defined by personal test assignment.<p>
@@ -189,15 +725,171 @@ public class NumberListImpl implements NumberList {
      * @return result of additional operation.
      */
     public NumberListImpl additionalOperation(NumberList arg) {
-        // Додаткова операція: віднімання (С7 = 1)
-        String minuend = this.toDecimalString();
-        String subtrahend = ((NumberListImpl) arg).toDecimalString();
+        long start = NumberListMetrics.start();
+        NumberListEvents.AdditionalOperation event = new NumberListEvents.AdditionalOperation();
+        event.begin();
+
+        // Додаткова операція: віднімання (С7 = 1), без проміжних десяткових рядків
+        BigInteger a = this.toBigInteger();
+        BigInteger b = ((NumberListImpl) arg).toBigInteger();
+
+        NumberListImpl result = fromBigInteger(a.subtract(b), base);
+        NumberListMetrics.record(NumberListMetrics.Operation.ADDITIONAL_OPERATION, start, Math.max(size, arg.size()));
+        if (event.shouldCommit()) {
+            event.digits = size;
+            event.argumentDigits = arg.size();
+            event.base = base;
+            event.resultDigits = result.size;
+            event.commit();
+        }
+        return result;
+    }
 
-        BigInteger a = new BigInteger(minuend);
-        BigInteger b = new BigInteger(subtrahend);
 
-        BigInteger result = a.subtract(b);
-        return new NumberListImpl(result.toString());
+    /**
+     * Subtracts specified number from this list in place, like
+     * {@link #additionalOperation(NumberList)} but without creating a new
+     * list: digits are changed from the tail with borrow propagation, and
+     * nodes of removed leading zeros are reused later. If lists have the
+     * same base, no objects are allocated. Negative difference makes the
+     * list empty.
+     *
+     * @param arg - number to subtract
+     * @return this list.
+     */
+    public NumberListImpl subtractInPlace(NumberList arg) {
+        checkMutable();
+        long start = NumberListMetrics.start();
+        NumberListImpl other = (NumberListImpl) arg;
+        int argumentSize = other.size;
+
+        if (other.base != base) {
+            replaceValue(toBigInteger().subtract(other.toBigInteger()));
+        } else if (other == this) {
+            clear();
+            linkBefore(NIL, 0, (byte) 0);
+        } else if (compareSameBase(other) < 0) {
+            clear();
+        } else {
+            // this >= arg: цифри arg понад довжину this - провідні нулі
+            int a = head == NIL ? NIL : prev[head];
+            int b = other.head == NIL ? NIL : other.prev[other.head];
+            int borrow = 0;
+            for (int k = 0; k < size && (k < argumentSize || borrow != 0); k++) {
+                int digit = digits[a] - borrow - (k < argumentSize ? other.digits[b] : 0);
+                borrow = digit < 0 ? 1 : 0;
+                digits[a] = (byte) (digit + borrow * base);
+                a = prev[a];
+                if (k < argumentSize) {
+                    b = other.prev[b];
+                }
+            }
+            normalizeInPlace();
+        }
+
+        NumberListMetrics.record(NumberListMetrics.Operation.SUBTRACT_IN_PLACE, start, Math.max(size, argumentSize));
+        return this;
+    }
+
+
+    /**
+     * Adds specified number to this list in place: digits are changed from
+     * the tail with carry propagation, new leading digits are linked in
+     * front. If lists have the same base, no objects are allocated once the
+     * list storage has grown to the result size.
+     *
+     * @param arg - number to add
+     * @return this list.
+     */
+    public NumberListImpl addInPlace(NumberList arg) {
+        checkMutable();
+        long start = NumberListMetrics.start();
+        NumberListImpl other = (NumberListImpl) arg;
+        int argumentSize = other.size;
+
+        if (other.base != base) {
+            replaceValue(toBigInteger().add(other.toBigInteger()));
+        } else {
+            int a = head == NIL ? NIL : prev[head];
+            int b = other.head == NIL ? NIL : other.prev[other.head];
+            int length = size;
+            int carry = 0;
+            for (int k = 0; k < argumentSize || carry != 0; k++) {
+                int digit = carry + (k < argumentSize ? other.digits[b] : 0);
+                if (k < length) {
+                    digit += digits[a];
+                }
+                carry = digit >= base ? 1 : 0;
+                digit -= carry * base;
+                if (k < length) {
+                    digits[a] = (byte) digit;
+                    a = prev[a];
+                } else {
+                    // Старший розряд за межами this - новий вузол на початку
+                    insertNode(head, (byte) digit);
+                }
+                if (k < argumentSize) {
+                    b = other.prev[b];
+                }
+            }
+            if (size != length) {
+                modCount++;
+            }
+            normalizeInPlace();
+        }
+
+        NumberListMetrics.record(NumberListMetrics.Operation.ADD_IN_PLACE, start, Math.max(size, argumentSize));
+        return this;
+    }
+
+    // Порівнює значення з числом у тій самій системі числення без урахування провідних нулів
+    private int compareSameBase(NumberListImpl other) {
+        int a = head;
+        int aLength = size;
+        while (aLength > 0 && digits[a] == 0) {
+            a = next[a];
+            aLength--;
+        }
+        int b = other.head;
+        int bLength = other.size;
+        while (bLength > 0 && other.digits[b] == 0) {
+            b = other.next[b];
+            bLength--;
+        }
+        if (aLength != bLength) {
+            return aLength < bLength ? -1 : 1;
+        }
+        for (int k = 0; k < aLength; k++) {
+            if (digits[a] != other.digits[b]) {
+                return digits[a] < other.digits[b] ? -1 : 1;
+            }
+            a = next[a];
+            b = other.next[b];
+        }
+        return 0;
+    }
+
+    // Прибирає провідні нулі (нуль - одна цифра 0), як у результатах операцій
+    private void normalizeInPlace() {
+        int oldSize = size;
+        while (size > 1 && digits[head] == 0) {
+            detachNode(head);
+        }
+        if (size == 0) {
+            insertNode(NIL, (byte) 0);
+        }
+        if (size != oldSize) {
+            modCount++;
+        }
+        valueChanged();
+    }
+
+    // Замінює цифри списку цифрами значення; від'ємне значення - порожній список
+    private void replaceValue(BigInteger value) {
+        clear();
+        if (value.signum() >= 0) {
+            appendValue(value);
+        }
     }
 
 
@@ -207,32 +899,140 @@ public class NumberListImpl implements NumberList {
      *
      * @return string representation in <b>decimal</b> scale.
      */
-    public String toDecimalString() {
+    public String toDecimalString() {
+        return toBaseString(10);
+    }
+
+    // Запис числа в системі з основою targetBase; результати для великих
+    // чисел беруться зі спільного кешу переведень
+    private String toBaseString(int targetBase) {
+        if (isEmpty()) {
+            return "0";
+        }
+        if (targetBase == base) {
+            // Та сама система - лише без провідних нулів
+            String digitString = toString();
+            int first = 0;
+            while (first < digitString.length() - 1 && digitString.charAt(first) == '0') {
+                first++;
+            }
+            return digitString.substring(first);
+        }
+
+        long start = NumberListMetrics.start();
+        ConversionCache cache = ConversionCache.shared();
+        String result;
+        if (size < cache.minDigits()) {
+            // Малі числа не кешуються, тож і ключ з копією цифр не потрібен
+            result = toBigInteger().toString(targetBase);
+        } else {
+            byte[] key = new byte[size];
+            writeDigits(key, 0);
+            result = cache.convert(key, base, targetBase, () -> toBigInteger().toString(targetBase));
+        }
+        NumberListMetrics.record(NumberListMetrics.Operation.CONVERT, start, size);
+        return result;
+    }
+
+    // Значення числа без проміжного рядка: для основ-степенів двійки цифри
+    // просто укладаються по бітах у масив байтів
+    BigInteger toBigInteger() {
+        if (accumulator == null) {
+            return RadixConverter.toBigInteger(digitValues(), 0, size, base);
+        }
+        if (!accumulator.isValid()) {
+            accumulator.reset(RadixConverter.toBigInteger(digitValues(), 0, size, base));
+        }
+        return accumulator.value();
+    }
+
+
+    @Override
+    public String toString() {
+        byte[] chars = new byte[Math.max(size, 1)];
+        writeDigits(chars, 0);
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+
+    /**
+     * Writes ASCII digits of the number in scale of notation of the list
+     * into specified array. Writes the same characters as {@link #toString()}.
+     *
+     * @param dst - destination array
+     * @param off - index of first written character
+     * @return number of written characters.
+     * @throws IndexOutOfBoundsException if <tt>dst</tt> has no room for all digits.
+     */
+    public int writeDigits(byte[] dst, int off) {
+        int length = Math.max(size, 1);
+        if (off < 0 || off > dst.length - length) {
+            throw new IndexOutOfBoundsException("Зсув: " + off + ", Потрібно: " + length + ", Розмір: " + dst.length);
+        }
+
+        if (isEmpty()) {
+            dst[off] = '0';
+            return 1;
+        }
+
+        int current = head;
+        for (int i = off; i < off + size; i++) {
+            dst[i] = DigitScanner.DIGIT_CHARS[digits[current]];
+            current = next[current];
+        }
+        return size;
+    }
+
+
+    /**
+     * Writes ASCII digits of the number in scale of notation of the list
+     * into specified buffer, starting from its current position.
+     *
+     * @param dst - destination buffer
+     * @return number of written characters.
+     * @throws BufferOverflowException if buffer has no room for all digits,
+     * in this case buffer is not modified.
+     */
+    public int writeTo(ByteBuffer dst) {
+        int length = Math.max(size, 1);
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
         if (isEmpty()) {
-            return "0";
+            dst.put((byte) '0');
+            return 1;
         }
 
-        // Переводимо з поточної системи в десяткову
-        String baseString = toString();
-        BigInteger baseValue = new BigInteger(baseString, base);
-        return baseValue.toString(10);
+        int current = head;
+        for (int i = 0; i < size; i++) {
+            dst.put(DigitScanner.DIGIT_CHARS[digits[current]]);
+            current = next[current];
+        }
+        return size;
     }
 
 
-    @Override
-    public String toString() {
+    /**
+     * Appends digits of the number in scale of notation of the list
+     * to specified <tt>Appendable</tt>.
+     *
+     * @param dst - destination of characters
+     * @return number of written characters.
+     * @throws IOException if <tt>dst</tt> fails to append a character.
+     */
+    public int writeTo(Appendable dst) throws IOException {
         if (isEmpty()) {
-            return "0";
+            dst.append('0');
+            return 1;
         }
 
-        StringBuilder sb = new StringBuilder();
-        Node current = head;
-        do {
-            sb.append(current.data);
-            current = current.next;
-        } while (current != head);
-
-        return sb.toString();
+        int current = head;
+        for (int i = 0; i < size; i++) {
+            dst.append((char) DigitScanner.DIGIT_CHARS[digits[current]]);
+            current = next[current];
+        }
+        return size;
     }
 
 
@@ -243,8 +1043,8 @@ public class NumberListImpl implements NumberList {
 
         NumberListImpl other = (NumberListImpl) o;
 
-        // Порівнюємо за десятковим значенням
-        return this.toDecimalString().equals(other.toDecimalString());
+        // Порівнюємо за значенням
+        return this.toBigInteger().equals(other.toBigInteger());
     }
 
 
@@ -270,12 +1070,12 @@ public class NumberListImpl implements NumberList {
             return false;
         }
 
-        Node current = head;
+        int current = head;
         do {
-            if (current.data.equals(o)) {
+            if (digits[current] == (Byte) o) {
                 return true;
             }
-            current = current.next;
+            current = next[current];
         } while (current != head);
 
         return false;
@@ -289,8 +1089,9 @@ public class NumberListImpl implements NumberList {
 
     // Ітератор для проходження по списку
     private class NumberListIterator implements Iterator<Byte> {
-        private Node current = head;
+        private int current = head;
         private int count = 0;
+        private final int expectedModCount = modCount;
 
         @Override
         public boolean hasNext() {
@@ -299,11 +1100,14 @@ public class NumberListImpl implements NumberList {
 
         @Override
         public Byte next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            Byte data = current.data;
-            current = current.next;
+            Byte data = digits[current];
+            current = next[current];
             count++;
             return data;
         }
@@ -318,10 +1122,10 @@ public class NumberListImpl implements NumberList {
     @Override
     public Object[] toArray() {
         Object[] array = new Object[size];
-        Node current = head;
+        int current = head;
         for (int i = 0; i < size; i++) {
-            array[i] = current.data;
-            current = current.next;
+            array[i] = digits[current];
+            current = next[current];
         }
         return array;
     }
@@ -336,6 +1140,8 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean add(Byte e) {
+        checkMutable();
+
         if (e == null) {
             throw new NullPointerException("Null елементи не дозволені");
         }
@@ -344,56 +1150,160 @@ public class NumberListImpl implements NumberList {
             throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
         }
 
-        Node newNode = new Node(e);
+        linkBefore(NIL, size, e);
+        return true;
+    }
+
+    // Вставляє цифру перед вузлом successor з позицією index (NIL - в кінець списку)
+    // і повертає новий вузол
+    private int linkBefore(int successor, int index, byte digit) {
+        int node = insertNode(successor, digit);
+        modCount++;
+        if (successor == NIL) {
+            if (accumulator != null) {
+                accumulator.append(digit);
+            }
+            if (residues != null && residues.isValid()) {
+                residues.append(digit);
+            }
+        } else {
+            if (accumulator != null) {
+                accumulator.invalidate();
+            }
+            if (residues != null && residues.isValid()) {
+                // Старші розряди зсуваються: потрібна остача коротшої з частин числа
+                int t = size - 1 - index;
+                if (index <= t) {
+                    residues.insertAfterPrefix(t, digit, prefixResidues(index));
+                } else {
+                    residues.insertBeforeSuffix(t, digit, suffixResidues(t));
+                }
+            }
+        }
+        return node;
+    }
+
+    // Вставляє вузол перед successor (NIL - в кінець) без оновлення лічильника змін і кешів
+    private int insertNode(int successor, byte digit) {
+        int node = newNode(digit);
 
         if (isEmpty()) {
             // Якщо список порожній, створюємо перший елемент
-            head = newNode;
-            newNode.next = newNode;
-            newNode.prev = newNode;
+            head = node;
+            next[node] = node;
+            prev[node] = node;
         } else {
-            // Додаємо в кінець (перед head)
-            Node tail = head.prev;
-            tail.next = newNode;
-            newNode.prev = tail;
-            newNode.next = head;
-            head.prev = newNode;
+            // Кінець списку - це місце перед head
+            int at = successor == NIL ? head : successor;
+            int before = prev[at];
+            next[before] = node;
+            prev[node] = before;
+            next[node] = at;
+            prev[at] = node;
+            if (successor == head) {
+                head = node;
+            }
         }
-
         size++;
-        return true;
+        return node;
+    }
+
+    // Цифри змінено не дописуванням у кінець - накопичене значення та остачі недійсні
+    private void valueChanged() {
+        if (accumulator != null) {
+            accumulator.invalidate();
+        }
+        if (residues != null) {
+            residues.invalidate();
+        }
+    }
+
+    // Цифру на позиції index замінено: остачі оновлюються за O(log n)
+    private void digitChanged(int index, int oldDigit, int newDigit) {
+        if (accumulator != null) {
+            accumulator.invalidate();
+        }
+        if (residues != null && residues.isValid()) {
+            residues.set(size - 1 - index, oldDigit, newDigit);
+        }
     }
 
 
     @Override
     public boolean remove(Object o) {
+        checkMutable();
+
         if (!(o instanceof Byte) || isEmpty()) {
             return false;
         }
 
-        Node current = head;
+        int current = head;
+        int index = 0;
         do {
-            if (current.data.equals(o)) {
-                removeNode(current);
+            if (digits[current] == (Byte) o) {
+                removeNode(current, index);
                 return true;
             }
-            current = current.next;
+            current = next[current];
+            index++;
         } while (current != head);
 
         return false;
     }
 
-    // Видаляє вузол зі списку
-    private void removeNode(Node node) {
+    // Видаляє вузол зі списку; остачі будуть перераховані при наступному запиті
+    private void removeNode(int node) {
+        if (residues != null) {
+            residues.invalidate();
+        }
+        unlink(node);
+    }
+
+    // Видаляє вузол на позиції index, оновлюючи остачі за коротшою з частин числа
+    private void removeNode(int node, int index) {
+        if (residues == null || !residues.isValid()) {
+            unlink(node);
+            return;
+        }
+
+        int t = size - 1 - index;
+        int digit = digits[node];
+        if (index <= t) {
+            long[] high = prefixResidues(index);
+            unlink(node);
+            residues.removeAfterPrefix(t, digit, high);
+        } else if (residues.isBaseInvertible()) {
+            long[] low = suffixResidues(t);
+            unlink(node);
+            residues.removeBeforeSuffix(t, digit, low);
+        } else {
+            // Без оберненої основи молодшу частину не відокремити - перерахунок пізніше
+            residues.invalidate();
+            unlink(node);
+        }
+    }
+
+    private void unlink(int node) {
+        checkMutable();
+        detachNode(node);
+        modCount++;
+        if (accumulator != null) {
+            accumulator.invalidate();
+        }
+    }
+
+    // Виключає вузол зі списку без оновлення лічильника змін і кешів
+    private void detachNode(int node) {
         if (size == 1) {
-            head = null;
+            head = NIL;
         } else {
-            node.prev.next = node.next;
-            node.next.prev = node.prev;
+            next[prev[node]] = next[node];
+            prev[next[node]] = prev[node];
             if (node == head) {
-                head = node.next;
+                head = next[node];
             }
         }
+        freeNode(node);
         size--;
     }
 
@@ -411,6 +1321,8 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean addAll(Collection<? extends Byte> c) {
+        checkMutable();
+
         boolean modified = false;
         for (Byte e : c) {
             if (add(e)) {
@@ -423,6 +1335,8 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean addAll(int index, Collection<? extends Byte> c) {
+        checkMutable();
+
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size);
         }
@@ -438,22 +1352,24 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean removeAll(Collection<?> c) {
+        checkMutable();
+
         boolean modified = false;
 
         if (isEmpty()) {
             return false;
         }
 
-        Node current = head;
-        Node start = head;
-        do {
-            Node next = current.next;
-            if (c.contains(current.data)) {
+        // Обходимо рівно size вузлів: голова може бути видалена під час обходу
+        int current = head;
+        for (int i = size; i > 0; i--) {
+            int following = next[current];
+            if (c.contains(digits[current])) {
                 removeNode(current);
                 modified = true;
             }
-            current = next;
-        } while (current != start && !isEmpty());
+            current = following;
+        }
 
         return modified;
     }
@@ -461,22 +1377,24 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        checkMutable();
+
         boolean modified = false;
 
         if (isEmpty()) {
             return false;
         }
 
-        Node current = head;
-        Node start = head;
-        do {
-            Node next = current.next;
-            if (!c.contains(current.data)) {
+        // Обходимо рівно size вузлів: голова може бути видалена під час обходу
+        int current = head;
+        for (int i = size; i > 0; i--) {
+            int following = next[current];
+            if (!c.contains(digits[current])) {
                 removeNode(current);
                 modified = true;
             }
-            current = next;
-        } while (current != start && !isEmpty());
+            current = following;
+        }
 
         return modified;
     }
@@ -484,8 +1402,20 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public void clear() {
-        head = null;
+        checkMutable();
+
+        // Масиви залишаються для повторного використання
+        head = NIL;
         size = 0;
+        modCount++;
+        if (accumulator != null) {
+            accumulator.reset(BigInteger.ZERO);
+        }
+        if (residues != null) {
+            residues.reset(residues.zero());
+        }
+        freeHead = NIL;
+        used = 0;
     }
 
 
@@ -495,14 +1425,39 @@ public class NumberListImpl implements NumberList {
             throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size);
         }
 
-        return getNode(index).data;
+        return digits[getNode(index)];
     }
 
-    // Знаходить вузол за індексом
-    private Node getNode(int index) {
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
+    // Знаходить вузол за індексом, починаючи з найближчого з голови, хвоста
+    // або вузла попереднього пошуку, тож послідовний обхід за індексом
+    // коштує O(1) на крок
+    private int getNode(int index) {
+        int current = head;
+        int steps = index; // додатні - вперед, від'ємні - назад
+
+        if (size - index < index) {
+            current = prev[head];
+            steps = index - (size - 1);
+        }
+        boolean useFinger = !immutable;
+        if (useFinger && fingerNode != NIL && fingerModCount == modCount
+                && Math.abs(index - fingerIndex) < Math.abs(steps)) {
+            current = fingerNode;
+            steps = index - fingerIndex;
+        }
+
+        NumberListMetrics.recordUntimed(NumberListMetrics.Operation.GET_NODE, Math.abs(steps));
+        for (; steps > 0; steps--) {
+            current = next[current];
+        }
+        for (; steps < 0; steps++) {
+            current = prev[current];
+        }
+
+        if (useFinger) {
+            fingerNode = current;
+            fingerIndex = index;
+            fingerModCount = modCount;
         }
         return current;
     }
@@ -510,6 +1465,8 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public Byte set(int index, Byte element) {
+        checkMutable();
+
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size);
         }
@@ -522,15 +1479,18 @@ public class NumberListImpl implements NumberList {
             throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
         }
 
-        Node node = getNode(index);
-        Byte oldValue = node.data;
-        node.data = element;
+        int node = getNode(index);
+        Byte oldValue = digits[node];
+        digits[node] = element;
+        digitChanged(index, oldValue, element);
         return oldValue;
     }
 
 
     @Override
     public void add(int index, Byte element) {
+        checkMutable();
+
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size);
         }
@@ -543,47 +1503,21 @@ public class NumberListImpl implements NumberList {
             throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
         }
 
-        if (index == size) {
-            add(element);
-            return;
-        }
-
-        Node newNode = new Node(element);
-
-        if (index == 0) {
-            if (isEmpty()) {
-                head = newNode;
-                newNode.next = newNode;
-                newNode.prev = newNode;
-            } else {
-                Node tail = head.prev;
-                newNode.next = head;
-                newNode.prev = tail;
-                tail.next = newNode;
-                head.prev = newNode;
-                head = newNode;
-            }
-        } else {
-            Node current = getNode(index);
-            newNode.next = current;
-            newNode.prev = current.prev;
-            current.prev.next = newNode;
-            current.prev = newNode;
-        }
-
-        size++;
+        linkBefore(index == size ? NIL : getNode(index), index, element);
     }
 
 
     @Override
     public Byte remove(int index) {
+        checkMutable();
+
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Індекс: " + index + ", Розмір: " + size);
         }
 
-        Node node = getNode(index);
-        Byte data = node.data;
-        removeNode(node);
+        int node = getNode(index);
+        Byte data = digits[node];
+        removeNode(node, index);
         return data;
     }
 
@@ -594,12 +1528,12 @@ public class NumberListImpl implements NumberList {
             return -1;
         }
 
-        Node current = head;
+        int current = head;
         for (int i = 0; i < size; i++) {
-            if (current.data.equals(o)) {
+            if (digits[current] == (Byte) o) {
                 return i;
             }
-            current = current.next;
+            current = next[current];
         }
 
         return -1;
@@ -612,12 +1546,12 @@ public class NumberListImpl implements NumberList {
             return -1;
         }
 
-        Node current = head.prev;
+        int current = prev[head];
         for (int i = size - 1; i >= 0; i--) {
-            if (current.data.equals(o)) {
+            if (digits[current] == (Byte) o) {
                 return i;
             }
-            current = current.prev;
+            current = prev[current];
         }
 
         return -1;
@@ -640,19 +1574,25 @@ public class NumberListImpl implements NumberList {
 
     // ListIterator для двонаправленого проходження
     private class NumberListListIterator implements ListIterator<Byte> {
-        private Node current;
-        private Node lastReturned;
+        private int current = NIL; // вузол, який поверне next(); NIL - кінець списку
+        private int lastReturned = NIL;
         private int index;
+        private int expectedModCount = modCount;
 
         NumberListListIterator(int index) {
             this.index = index;
-            if (index == size) {
-                current = null;
-            } else if (size > 0) {
+            if (index < size) {
                 current = getNode(index);
             }
         }
 
+        // Зміна списку в обхід ітератора робить його вузли недійсними
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
         @Override
         public boolean hasNext() {
             return index < size;
@@ -660,14 +1600,14 @@ public class NumberListImpl implements NumberList {
 
         @Override
         public Byte next() {
+            checkForComodification();
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
             lastReturned = current;
-            Byte data = current.data;
-            current = current.next;
             index++;
-            return data;
+            current = index == size ? NIL : next[current];
+            return digits[lastReturned];
         }
 
         @Override
@@ -677,17 +1617,18 @@ public class NumberListImpl implements NumberList {
 
         @Override
         public Byte previous() {
+            checkForComodification();
             if (!hasPrevious()) {
                 throw new NoSuchElementException();
             }
-            if (current == null) {
-                current = head.prev;
+            if (current == NIL) {
+                current = prev[head];
             } else {
-                current = current.prev;
+                current = prev[current];
             }
             lastReturned = current;
             index--;
-            return current.data;
+            return digits[current];
         }
 
         @Override
@@ -695,6 +1636,11 @@ public class NumberListImpl implements NumberList {
             return index;
         }
 
+        // Позиція вузла lastReturned: після previous() він стоїть під курсором
+        private int lastIndex() {
+            return current == lastReturned ? index : index - 1;
+        }
+
         @Override
         public int previousIndex() {
             return index - 1;
@@ -702,25 +1648,31 @@ public class NumberListImpl implements NumberList {
 
         @Override
         public void remove() {
-            if (lastReturned == null) {
+            checkForComodification();
+            if (lastReturned == NIL) {
                 throw new IllegalStateException();
             }
 
-            Node next = lastReturned.next;
-            removeNode(lastReturned);
+            int following = next[lastReturned];
+            removeNode(lastReturned, lastIndex());
 
             if (current == lastReturned) {
-                current = next;
+                // Видалено вузол після курсора (після previous())
+                current = index == size ? NIL : following;
             } else {
                 index--;
             }
 
-            lastReturned = null;
+            lastReturned = NIL;
+            expectedModCount = modCount;
         }
 
         @Override
         public void set(Byte e) {
-            if (lastReturned == null) {
+            checkMutable();
+            checkForComodification();
+
+            if (lastReturned == NIL) {
                 throw new IllegalStateException();
             }
             if (e == null) {
@@ -729,11 +1681,16 @@ public class NumberListImpl implements NumberList {
             if (e < 0 || e >= base) {
                 throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
             }
-            lastReturned.data = e;
+            byte oldValue = digits[lastReturned];
+            digits[lastReturned] = e;
+            digitChanged(lastIndex(), oldValue, e);
         }
 
         @Override
         public void add(Byte e) {
+            checkMutable();
+            checkForComodification();
+
             if (e == null) {
                 throw new NullPointerException("Null елементи не дозволені");
             }
@@ -741,9 +1698,11 @@ public class NumberListImpl implements NumberList {
                 throw new IllegalArgumentException("Цифра має бути в діапазоні [0, " + (base - 1) + "]");
             }
 
-            NumberListImpl.this.add(index, e);
+            // Вставка перед курсором без пошуку вузла за індексом
+            linkBefore(current, index, e);
             index++;
-            lastReturned = null;
+            lastReturned = NIL;
+            expectedModCount = modCount;
         }
     }
 
@@ -764,6 +1723,8 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean swap(int index1, int index2) {
+        checkMutable();
+
         if (index1 < 0 || index1 >= size || index2 < 0 || index2 >= size) {
             return false;
         }
@@ -772,34 +1733,143 @@ public class NumberListImpl implements NumberList {
             return true;
         }
 
-        Node node1 = getNode(index1);
-        Node node2 = getNode(index2);
+        int node1 = getNode(index1);
+        int node2 = getNode(index2);
 
         // Міняємо дані місцями
-        Byte temp = node1.data;
-        node1.data = node2.data;
-        node2.data = temp;
+        byte temp = digits[node1];
+        digits[node1] = digits[node2];
+        digits[node2] = temp;
+        digitChanged(index1, temp, digits[node1]);
+        digitChanged(index2, digits[node1], temp);
 
         return true;
     }
 
 
+    /**
+     * Applies batch of edits in one pass over the list. Edits are collected
+     * by <tt>edits</tt> with indexes relative to the list before the batch,
+     * then validated once, sorted by index and applied during single
+     * traversal; cached value and residues are invalidated once.<p>
+     *
+     * If <tt>edits</tt> throws or the batch is invalid, the list is not
+     * changed.
+     *
+     * @param edits - code which fills the batch
+     * @throws IndexOutOfBoundsException if an index of the batch is out of range.
+     * @throws IllegalArgumentException if a digit of the batch is out of range.
+     * @see BatchEdit
+     */
+    public void edit(Consumer<BatchEdit> edits) {
+        checkMutable();
+        BatchEdit batch = new BatchEdit();
+        edits.accept(batch);
+        batch.validate(size, base);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int[] positions = batch.contentPositions();
+        byte[] contents = batchContents(batch, positions);
+        long[] insertions = batch.sortedInsertions();
+        int[] removals = batch.sortedRemovals();
+
+        // Один прохід до найбільшого індексу: вставки перед позицією, потім
+        // новий вміст або видалення; вставки на позицію size - у кінець
+        int originalSize = size;
+        int last = -1;
+        if (positions.length > 0) {
+            last = positions[positions.length - 1];
+        }
+        if (removals.length > 0) {
+            last = Math.max(last, removals[removals.length - 1]);
+        }
+        for (long insertion : insertions) {
+            int index = (int) (insertion >>> 32);
+            if (index < originalSize) {
+                last = Math.max(last, index);
+            }
+        }
+
+        int p = 0;
+        int r = 0;
+        int i = 0;
+        int current = head;
+        for (int index = 0; index <= last; index++) {
+            int following = next[current];
+            while (i < insertions.length && (int) (insertions[i] >>> 32) == index) {
+                insertNode(current, batch.insertedDigit(insertions[i++]));
+            }
+            if (p < positions.length && positions[p] == index) {
+                digits[current] = contents[p++];
+            }
+            if (r < removals.length && removals[r] == index) {
+                detachNode(current);
+                r++;
+            }
+            current = following;
+        }
+        for (; i < insertions.length; i++) {
+            insertNode(NIL, batch.insertedDigit(insertions[i]));
+        }
+
+        if (insertions.length > 0 || removals.length > 0) {
+            modCount++;
+        }
+        valueChanged();
+    }
+
+    // Новий вміст позицій: цифри-джерела читаються одним проходом до найбільшого індексу
+    private byte[] batchContents(BatchEdit batch, int[] positions) {
+        byte[] contents = new byte[positions.length];
+        long[] reads = new long[positions.length];
+        int count = 0;
+        for (int k = 0; k < positions.length; k++) {
+            int source = batch.sourceOf(positions[k]);
+            if (BatchEdit.isLiteral(source)) {
+                contents[k] = BatchEdit.digitOf(source);
+            } else {
+                reads[count++] = (long) source << 32 | k;
+            }
+        }
+        Arrays.sort(reads, 0, count);
+
+        int current = head;
+        int index = 0;
+        for (int k = 0; k < count; k++) {
+            int source = (int) (reads[k] >>> 32);
+            while (index < source) {
+                current = next[current];
+                index++;
+            }
+            contents[(int) reads[k]] = digits[current];
+        }
+        return contents;
+    }
+
+
     @Override
     public void sortAscending() {
+        checkMutable();
+        NumberListMetrics.recordUntimed(NumberListMetrics.Operation.SORT, size);
+
         if (size <= 1) {
             return;
         }
 
+        valueChanged();
+
         // Сортування бульбашкою по зростанню
         for (int i = 0; i < size - 1; i++) {
-            Node current = head;
+            int current = head;
             for (int j = 0; j < size - i - 1; j++) {
-                if (current.data > current.next.data) {
-                    Byte temp = current.data;
-                    current.data = current.next.data;
-                    current.next.data = temp;
+                if (digits[current] > digits[next[current]]) {
+                    byte temp = digits[current];
+                    digits[current] = digits[next[current]];
+                    digits[next[current]] = temp;
                 }
-                current = current.next;
+                current = next[current];
             }
         }
     }
@@ -807,20 +1877,25 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public void sortDescending() {
+        checkMutable();
+        NumberListMetrics.recordUntimed(NumberListMetrics.Operation.SORT, size);
+
         if (size <= 1) {
             return;
         }
 
+        valueChanged();
+
         // Сортування бульбашкою по спаданню
         for (int i = 0; i < size - 1; i++) {
-            Node current = head;
+            int current = head;
             for (int j = 0; j < size - i - 1; j++) {
-                if (current.data < current.next.data) {
-                    Byte temp = current.data;
-                    current.data = current.next.data;
-                    current.next.data = temp;
+                if (digits[current] < digits[next[current]]) {
+                    byte temp = digits[current];
+                    digits[current] = digits[next[current]];
+                    digits[next[current]] = temp;
                 }
-                current = current.next;
+                current = next[current];
             }
         }
     }
@@ -828,22 +1903,291 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public void shiftLeft() {
+        checkMutable();
+
         if (size <= 1) {
             return;
         }
 
         // Циклічний зсув вліво - просто переміщуємо голову
-        head = head.next;
+        int first = digits[head];
+        head = next[head];
+        modCount++;
+        if (accumulator != null) {
+            accumulator.invalidate();
+        }
+        if (residues != null && residues.isValid()) {
+            // Старша цифра стає молодшею: видалення без префікса і дописування
+            residues.removeAfterPrefix(size - 1, first, residues.zero());
+            residues.append(first);
+        }
     }
 
 
     @Override
     public void shiftRight() {
+        checkMutable();
+
         if (size <= 1) {
             return;
         }
 
         // Циклічний зсув вправо
-        head = head.prev;
+        head = prev[head];
+        modCount++;
+        if (accumulator != null) {
+            accumulator.invalidate();
+        }
+        if (residues != null && residues.isValid()) {
+            // Молодша цифра стає старшою: видалення без суфікса і вставка без префікса
+            if (residues.isBaseInvertible()) {
+                int last = digits[head];
+                residues.removeBeforeSuffix(0, last, residues.zero());
+                residues.insertAfterPrefix(size - 1, last, residues.zero());
+            } else {
+                residues.invalidate();
+            }
+        }
+    }
+
+
+    /**
+     * Multiplies the number by <tt>base<sup>k</sup></tt> by appending
+     * <tt>k</tt> zero digits to the end of the list. Unlike cyclic
+     * {@link #shiftLeft()}, this is an arithmetic shift. Takes O(k) time.
+     *
+     * @param k - number of digits to shift by
+     * @throws IllegalArgumentException if <tt>k</tt> is negative.
+     */
+    public void shiftDigitsLeft(int k) {
+        checkMutable();
+        checkShift(k);
+
+        // Нуль лишається нулем
+        if (isZeroOrEmpty()) {
+            return;
+        }
+        for (int i = 0; i < k; i++) {
+            linkBefore(NIL, size, (byte) 0);
+        }
+    }
+
+
+    /**
+     * Divides the number by <tt>base<sup>k</sup></tt> by dropping <tt>k</tt>
+     * least significant digits. Unlike cyclic {@link #shiftRight()}, this is
+     * an arithmetic shift. If the list has no more than <tt>k</tt> digits, it
+     * becomes zero. Takes O(k) time.
+     *
+     * @param k - number of digits to shift by
+     * @throws IllegalArgumentException if <tt>k</tt> is negative.
+     */
+    public void shiftDigitsRight(int k) {
+        checkMutable();
+        checkShift(k);
+
+        if (isEmpty() || k == 0) {
+            return;
+        }
+        if (k >= size) {
+            clear();
+            add((byte) 0);
+            return;
+        }
+        for (int i = 0; i < k; i++) {
+            removeNode(prev[head], size - 1);
+        }
+    }
+
+
+    /**
+     * Returns remainder of division of the number by <tt>base<sup>k</sup></tt>,
+     * i.e. its <tt>k</tt> least significant digits. For octal lists this is
+     * the number modulo <tt>8<sup>k</sup></tt>.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param k - power of the base
+     * @return new <tt>NumberListImpl</tt> in the same scale of notation.
+     * @throws IllegalArgumentException if <tt>k</tt> is negative.
+     */
+    public NumberListImpl mod8k(int k) {
+        checkShift(k);
+        int from = Math.max(size - k, 0);
+        return copyRange(from, size);
+    }
+
+
+    /**
+     * Returns quotient of division of the number by <tt>base<sup>k</sup></tt>,
+     * i.e. the number without its <tt>k</tt> least significant digits. For
+     * octal lists this is the number divided by <tt>8<sup>k</sup></tt>.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param k - power of the base
+     * @return new <tt>NumberListImpl</tt> in the same scale of notation.
+     * @throws IllegalArgumentException if <tt>k</tt> is negative.
+     */
+    public NumberListImpl div8k(int k) {
+        checkShift(k);
+        int to = Math.max(size - k, 0);
+        return copyRange(0, to);
+    }
+
+    private static void checkShift(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Кількість розрядів має бути невід'ємною: " + k);
+        }
+    }
+
+    private boolean isZeroOrEmpty() {
+        return isEmpty() || (size == 1 && digits[head] == 0);
+    }
+
+    // Копія цифр з позицій [from, to) без провідних нулів; порожній діапазон - нуль
+    private NumberListImpl copyRange(int from, int to) {
+        NumberListImpl result = new NumberListImpl(base);
+        if (from < to) {
+            int current = getNode(from);
+            for (int i = from; i < to; i++) {
+                if (digits[current] != 0 || !result.isEmpty() || i == to - 1) {
+                    result.add(digits[current]);
+                }
+                current = next[current];
+            }
+        } else {
+            result.add((byte) 0);
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns bitwise AND of this number and specified one. Both lists must
+     * have power-of-two bases (2, 4, 8, 16, 32), the bases may differ.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param other - second operand
+     * @return new <tt>NumberListImpl</tt> in scale of notation of this list.
+     * @throws UnsupportedOperationException if base of either list is not a power of two.
+     */
+    public NumberListImpl and(NumberListImpl other) {
+        return fromBits(BitVector.and(toBits(), other.toBits()));
+    }
+
+
+    /**
+     * Returns bitwise OR of this number and specified one. Both lists must
+     * have power-of-two bases, the bases may differ.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param other - second operand
+     * @return new <tt>NumberListImpl</tt> in scale of notation of this list.
+     * @throws UnsupportedOperationException if base of either list is not a power of two.
+     */
+    public NumberListImpl or(NumberListImpl other) {
+        return fromBits(BitVector.or(toBits(), other.toBits()));
+    }
+
+
+    /**
+     * Returns bitwise XOR of this number and specified one. Both lists must
+     * have power-of-two bases, the bases may differ.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param other - second operand
+     * @return new <tt>NumberListImpl</tt> in scale of notation of this list.
+     * @throws UnsupportedOperationException if base of either list is not a power of two.
+     */
+    public NumberListImpl xor(NumberListImpl other) {
+        return fromBits(BitVector.xor(toBits(), other.toBits()));
+    }
+
+
+    /**
+     * Returns bitwise complement of the lowest <tt>width</tt> bits of the
+     * number, i.e. <tt>2<sup>width</sup> - 1 - (this mod 2<sup>width</sup>)</tt>.
+     * For octal list and <tt>width = 3k</tt> every one of <tt>k</tt> lowest
+     * digits <tt>d</tt> becomes <tt>7 - d</tt>.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param width - number of bits
+     * @return new <tt>NumberListImpl</tt> in the same scale of notation.
+     * @throws IllegalArgumentException if <tt>width</tt> is negative.
+     * @throws UnsupportedOperationException if base is not a power of two.
+     */
+    public NumberListImpl not(int width) {
+        checkBitCount(width);
+        return fromBits(BitVector.not(toBits(), width));
+    }
+
+
+    /**
+     * Returns the number multiplied by <tt>2<sup>n</sup></tt>.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param n - number of bits to shift by
+     * @return new <tt>NumberListImpl</tt> in the same scale of notation.
+     * @throws IllegalArgumentException if <tt>n</tt> is negative.
+     * @throws UnsupportedOperationException if base is not a power of two.
+     */
+    public NumberListImpl shiftBitsLeft(int n) {
+        checkBitCount(n);
+        return fromBits(BitVector.shiftLeft(toBits(), n));
+    }
+
+
+    /**
+     * Returns the number divided by <tt>2<sup>n</sup></tt>, rounded down.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param n - number of bits to shift by
+     * @return new <tt>NumberListImpl</tt> in the same scale of notation.
+     * @throws IllegalArgumentException if <tt>n</tt> is negative.
+     * @throws UnsupportedOperationException if base is not a power of two.
+     */
+    public NumberListImpl shiftBitsRight(int n) {
+        checkBitCount(n);
+        return fromBits(BitVector.shiftRight(toBits(), n));
+    }
+
+
+    /**
+     * Returns number of one bits in binary representation of the number.
+     *
+     * @return population count of the number.
+     * @throws UnsupportedOperationException if base is not a power of two.
+     */
+    public long bitCount() {
+        return BitVector.bitCount(toBits());
+    }
+
+    private static void checkBitCount(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Кількість бітів має бути невід'ємною: " + n);
+        }
+    }
+
+    // Число, упаковане по 64 біти у слово
+    private long[] toBits() {
+        if (!RadixConverter.isPowerOfTwo(base)) {
+            throw new UnsupportedOperationException("Бітові операції можливі лише для основ-степенів двійки: " + base);
+        }
+        return BitVector.pack(digitValues(), 0, size, Integer.numberOfTrailingZeros(base));
+    }
+
+    private NumberListImpl fromBits(long[] words) {
+        NumberListImpl result = new NumberListImpl(base);
+        for (byte digit : BitVector.unpack(words, Integer.numberOfTrailingZeros(base))) {
+            result.add(digit);
+        }
+        return result;
     }
 }
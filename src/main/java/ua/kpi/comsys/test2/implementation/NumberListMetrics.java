@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Необов'язкові метрики операцій {@link NumberListImpl}: кількість викликів,
+ * сумарний час, гістограми затримок та кількості оброблених цифр для кожної
+ * операції. Метрики доступні через JMX ({@link #registerMBean()}) та
+ * слухачів ({@link #addListener(Listener)}).<p>
+ *
+ * За замовчуванням метрики вимкнено: тоді кожна точка вимірювання коштує
+ * одного читання прапорця, без звернення до годинника та лічильників.
+ * Увімкнути їх можна методом {@link #setEnabled(boolean)} або властивістю
+ * системи <tt>numberlist.metrics=true</tt>.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class NumberListMetrics implements NumberListMetricsMXBean {
+
+    /**
+     * Measured operations.
+     */
+    public enum Operation {
+        /** Walk to node by index, digits are number of steps. */
+        GET_NODE,
+        /** Conversion into other scale of notation. */
+        CONVERT,
+        CHANGE_SCALE,
+        ADDITIONAL_OPERATION,
+        SUBTRACT_IN_PLACE,
+        ADD_IN_PLACE,
+        SORT,
+        LOAD,
+        SAVE
+    }
+
+    /**
+     * Receives every recorded measurement while metrics are enabled.
+     * Called in the thread which performed the operation.
+     */
+    public interface Listener {
+
+        /**
+         * @param operation - measured operation
+         * @param nanos - duration of operation, or -1 if it was not timed
+         * @param digits - number of processed digits
+         */
+        void onOperation(Operation operation, long nanos, int digits);
+    }
+
+    public static final String OBJECT_NAME = "ua.kpi.comsys.test2:type=NumberListMetrics";
+
+    // Кошики гістограм за степенями двійки: значення v потрапляє в кошик 64 - nlz(v)
+    private static final int BUCKETS = 65;
+    private static final int FIELDS = 3; // кількість викликів, сумарний час, сумарна кількість цифр
+
+    private static final NumberListMetrics INSTANCE = new NumberListMetrics();
+
+    private static volatile boolean enabled = Boolean.getBoolean("numberlist.metrics");
+
+    private final Operation[] operations = Operation.values();
+    private final AtomicLongArray totals = new AtomicLongArray(operations.length * FIELDS);
+    private final AtomicLongArray latencies = new AtomicLongArray(operations.length * BUCKETS);
+    private final AtomicLongArray digitCounts = new AtomicLongArray(operations.length * BUCKETS);
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private NumberListMetrics() {
+    }
+
+
+    /**
+     * Returns the only instance of metrics.
+     *
+     * @return metrics of all <tt>NumberListImpl</tt> instances.
+     */
+    public static NumberListMetrics get() {
+        return INSTANCE;
+    }
+
+
+    /**
+     * Registers metrics in platform MBean server under {@link #OBJECT_NAME}.
+     * Repeated calls have no effect.
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Не вдалося зареєструвати MBean метрик", e);
+        }
+    }
+
+
+    // Точки вимірювання: start() повертає 0, якщо метрики вимкнено, і record() нічого не робить
+
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    static void record(Operation operation, long start, int digits) {
+        if (start != 0) {
+            INSTANCE.add(operation, System.nanoTime() - start, digits);
+        }
+    }
+
+    // Вимірювання без часу - для дешевих операцій, де звернення до годинника дорожче за саму операцію
+    static void recordUntimed(Operation operation, int digits) {
+        if (enabled) {
+            INSTANCE.add(operation, -1, digits);
+        }
+    }
+
+    private void add(Operation operation, long nanos, int digits) {
+        int op = operation.ordinal();
+        totals.incrementAndGet(op * FIELDS);
+        totals.addAndGet(op * FIELDS + 2, digits);
+        digitCounts.incrementAndGet(op * BUCKETS + bucket(digits));
+        if (nanos >= 0) {
+            totals.addAndGet(op * FIELDS + 1, nanos);
+            latencies.incrementAndGet(op * BUCKETS + bucket(nanos));
+        }
+
+        for (Listener listener : listeners) {
+            listener.onOperation(operation, nanos, digits);
+        }
+    }
+
+    private static int bucket(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(value, 0));
+    }
+
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+
+    /**
+     * Returns number of recorded calls of operation.
+     *
+     * @param operation - measured operation
+     * @return number of calls since start or last reset.
+     */
+    public long count(Operation operation) {
+        return totals.get(operation.ordinal() * FIELDS);
+    }
+
+    public long totalNanos(Operation operation) {
+        return totals.get(operation.ordinal() * FIELDS + 1);
+    }
+
+    public long totalDigits(Operation operation) {
+        return totals.get(operation.ordinal() * FIELDS + 2);
+    }
+
+    /**
+     * Returns upper bound of latency percentile of operation. Latencies are
+     * kept in power-of-two buckets, so the result is exact within factor 2.
+     *
+     * @param operation - measured operation
+     * @param percentile - percentile in range (0, 100]
+     * @return upper bound in nanoseconds, or 0 if operation was not timed.
+     */
+    public long latencyPercentile(Operation operation, double percentile) {
+        return percentile(latencies, operation, percentile);
+    }
+
+    /**
+     * Returns upper bound of digit count percentile of operation.
+     *
+     * @param operation - measured operation
+     * @param percentile - percentile in range (0, 100]
+     * @return upper bound of digit count, or 0 if operation was not recorded.
+     */
+    public long digitsPercentile(Operation operation, double percentile) {
+        return percentile(digitCounts, operation, percentile);
+    }
+
+    private long percentile(AtomicLongArray histogram, Operation operation, double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Перцентиль має бути в діапазоні (0, 100]: " + percentile);
+        }
+
+        int from = operation.ordinal() * BUCKETS;
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            total += histogram.get(from + b);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram.get(from + b);
+            if (seen >= rank) {
+                return b == 0 ? 0 : b >= Long.SIZE ? Long.MAX_VALUE : (1L << b) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+
+    @Override
+    public Map<String, Long> getCounts() {
+        return table(0);
+    }
+
+    @Override
+    public Map<String, Long> getTotalNanos() {
+        return table(1);
+    }
+
+    @Override
+    public Map<String, Long> getTotalDigits() {
+        return table(2);
+    }
+
+    private Map<String, Long> table(int field) {
+        Map<String, Long> table = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            table.put(operation.name(), totals.get(operation.ordinal() * FIELDS + field));
+        }
+        return table;
+    }
+
+    @Override
+    public long latencyPercentile(String operation, double percentile) {
+        return latencyPercentile(Operation.valueOf(operation), percentile);
+    }
+
+    @Override
+    public long digitsPercentile(String operation, double percentile) {
+        return digitsPercentile(Operation.valueOf(operation), percentile);
+    }
+
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < totals.length(); i++) {
+            totals.set(i, 0);
+        }
+        for (int i = 0; i < latencies.length(); i++) {
+            latencies.set(i, 0);
+            digitCounts.set(i, 0);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        Map<Operation, Long> counts = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            if (count(operation) > 0) {
+                counts.put(operation, count(operation));
+            }
+        }
+        return "NumberListMetrics[enabled=" + enabled + ", counts=" + counts + "]";
+    }
+}
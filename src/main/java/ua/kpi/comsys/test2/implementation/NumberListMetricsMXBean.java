@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Map;
+
+/**
+ * Інтерфейс керування метриками {@link NumberListImpl} через JMX.
+ * Ключами таблиць є назви операцій {@link NumberListMetrics.Operation}.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public interface NumberListMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns number of recorded calls of every operation.
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Returns total time of every operation in nanoseconds.
+     */
+    Map<String, Long> getTotalNanos();
+
+    /**
+     * Returns total number of digits processed by every operation.
+     */
+    Map<String, Long> getTotalDigits();
+
+    /**
+     * Returns upper bound of latency percentile of operation in nanoseconds.
+     *
+     * @param operation - name of operation
+     * @param percentile - percentile in range (0, 100]
+     */
+    long latencyPercentile(String operation, double percentile);
+
+    /**
+     * Returns upper bound of digit count percentile of operation.
+     *
+     * @param operation - name of operation
+     * @param percentile - percentile in range (0, 100]
+     */
+    long digitsPercentile(String operation, double percentile);
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
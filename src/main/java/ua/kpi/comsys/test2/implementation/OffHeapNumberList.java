@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Список для представлення числа, цифри якого зберігаються поза купою Java
+ * в сегменті пам'яті ({@link MemorySegment}), по одному байту на цифру.
+ * Пам'ять належить арені списку і звільняється явно методом {@link #close()},
+ * а не збирачем сміття, тож великі числа не збільшують купу та паузи GC.<p>
+ *
+ * Список можна відобразити прямо з файлу бінарного формату
+ * ({@link DigitFileFormat#BINARY}) без копіювання цифр -
+ * див. {@link #mapSnapshot(File)}.<p>
+ *
+ * Після <tt>close()</tt> будь-яка операція зі списком кидає
+ * <tt>IllegalStateException</tt>. Списки-результати <tt>changeScale</tt>,
+ * <tt>additionalOperation</tt> та <tt>subList</tt> теж розміщені поза купою
+ * і мають бути закриті окремо.<p>
+ *
+ * Клас використовує Foreign Function &amp; Memory API, тому для компіляції
+ * потрібен JDK 22 або новіший (у JDK 21 - з <tt>--enable-preview</tt>).
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class OffHeapNumberList extends AbstractNumberList implements AutoCloseable {
+
+    private static final int DEFAULT_BASE = 8; // вісімкова система за замовчуванням
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Спільна арена: список можна передавати між потоками, а close() звільняє пам'ять одразу
+    private Arena arena; // арена виділеної або відображеної пам'яті
+    private MemorySegment digits; // сегмент арени, у якому лежать цифри
+    private int size; // розмір списку
+
+    /**
+     * Default constructor. Returns empty <tt>OffHeapNumberList</tt>
+     */
+    public OffHeapNumberList() {
+        this(DEFAULT_BASE);
+    }
+
+    /**
+     * Constructor with custom base.
+     *
+     * @param base - base of number system
+     */
+    private OffHeapNumberList(int base) {
+        super(base);
+        this.arena = Arena.ofShared();
+        this.digits = arena.allocate(INITIAL_CAPACITY);
+        this.size = 0;
+    }
+
+
+    /**
+     * Constructs new <tt>OffHeapNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public OffHeapNumberList(String value) {
+        this();
+        convertFromDecimal(value);
+    }
+
+
+    /**
+     * Constructs new <tt>OffHeapNumberList</tt> by <b>decimal</b> number
+     * from file, defined in string format. Gzip-compressed file is
+     * recognized by its signature and decompressed while reading.
+     *
+     * @param file - file where number is stored.
+     */
+    public OffHeapNumberList(File file) {
+        this();
+        convertFromFile(file);
+    }
+
+
+    /**
+     * Maps file in binary format into memory and returns list which reads
+     * digits directly from the mapping. The mapping is read-only: the first
+     * modification of the list copies digits into its own memory, so changes
+     * are never written back to the file.
+     *
+     * @param file - file written by {@link NumberListImpl#saveSnapshot(File)}
+     * or {@link #saveSnapshot(File)}.
+     * @return list backed by the file mapping.
+     * @throws IOException if file can not be mapped or is not a valid snapshot
+     * of octal number.
+     */
+    public static OffHeapNumberList mapSnapshot(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < DigitFileFormat.HEADER_SIZE || length - DigitFileFormat.HEADER_SIZE > Integer.MAX_VALUE) {
+                throw new IOException("Файл не містить вісімкового числа: " + file);
+            }
+
+            Arena arena = Arena.ofShared();
+            try {
+                MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+                byte[] header = mapped.asSlice(0, DigitFileFormat.HEADER_SIZE).toArray(ValueLayout.JAVA_BYTE);
+                MemorySegment body = mapped.asSlice(DigitFileFormat.HEADER_SIZE);
+
+                if (DigitFileFormat.baseOf(header) != DEFAULT_BASE
+                        || DigitScanner.firstInvalid(body, 0, (int) body.byteSize(), DEFAULT_BASE) >= 0) {
+                    throw new IOException("Файл не містить вісімкового числа: " + file);
+                }
+
+                OffHeapNumberList list = new OffHeapNumberList(DEFAULT_BASE, arena, body);
+                list.size = (int) body.byteSize();
+                return list;
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+    }
+
+    private OffHeapNumberList(int base, Arena arena, MemorySegment digits) {
+        super(base);
+        this.arena = arena;
+        this.digits = digits;
+    }
+
+
+    /**
+     * Saves digits of the list into specified file in binary format.
+     *
+     * @param file - file where digits have to be stored.
+     * @throws IOException if file can not be written.
+     */
+    public void saveSnapshot(File file) throws IOException {
+        ByteBuffer body = segment().asSlice(0, size).asByteBuffer();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.wrap(DigitFileFormat.header(base));
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+
+    /**
+     * Releases memory of the list. Repeated calls have no effect.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+            digits = null;
+            size = 0;
+        }
+    }
+
+    private MemorySegment segment() {
+        if (digits == null) {
+            throw new IllegalStateException("Список закрито");
+        }
+        return digits;
+    }
+
+    // Гарантує місце для capacity цифр у власній пам'яті, доступній для запису
+    private void ensureCapacity(int capacity) {
+        MemorySegment current = segment();
+        if (capacity <= current.byteSize() && !current.isReadOnly()) {
+            return;
+        }
+
+        long grown = Math.max(capacity, current.byteSize() + (current.byteSize() >> 1));
+        Arena newArena = Arena.ofShared();
+        MemorySegment newDigits = newArena.allocate(Math.min(Integer.MAX_VALUE, grown));
+        MemorySegment.copy(current, 0, newDigits, 0, size);
+
+        arena.close();
+        arena = newArena;
+        digits = newDigits;
+    }
+
+    // Переміщує length цифр з from у to; MemorySegment.copy враховує перекриття
+    private void move(int from, int to, int length) {
+        MemorySegment.copy(digits, from, digits, to, length);
+    }
+
+
+    @Override
+    protected byte digitAt(int index) {
+        return segment().get(ValueLayout.JAVA_BYTE, index);
+    }
+
+    @Override
+    protected byte[] digitValues() {
+        return segment().asSlice(0, size).toArray(ValueLayout.JAVA_BYTE);
+    }
+
+    @Override
+    protected void setDigit(int index, byte digit) {
+        ensureCapacity(size);
+        digits.set(ValueLayout.JAVA_BYTE, index, digit);
+    }
+
+    @Override
+    protected void insertDigit(int index, byte digit) {
+        ensureCapacity(size + 1);
+        if (index < size) {
+            move(index, index + 1, size - index);
+        }
+        digits.set(ValueLayout.JAVA_BYTE, index, digit);
+        size++;
+    }
+
+    @Override
+    protected byte removeDigit(int index) {
+        ensureCapacity(size);
+        byte digit = digits.get(ValueLayout.JAVA_BYTE, index);
+        move(index + 1, index, size - index - 1);
+        size--;
+        return digit;
+    }
+
+    @Override
+    protected AbstractNumberList createEmpty(int base) {
+        return new OffHeapNumberList(base);
+    }
+
+
+    @Override
+    public int size() {
+        segment();
+        return size;
+    }
+
+
+    @Override
+    public void clear() {
+        segment();
+        size = 0;
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        if (size() <= 1) {
+            return;
+        }
+
+        ensureCapacity(size);
+        byte first = digits.get(ValueLayout.JAVA_BYTE, 0);
+        move(1, 0, size - 1);
+        digits.set(ValueLayout.JAVA_BYTE, size - 1, first);
+    }
+
+
+    @Override
+    public void shiftRight() {
+        if (size() <= 1) {
+            return;
+        }
+
+        ensureCapacity(size);
+        byte last = digits.get(ValueLayout.JAVA_BYTE, size - 1);
+        move(0, 1, size - 1);
+        digits.set(ValueLayout.JAVA_BYTE, 0, last);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Розбір першого рядка десяткового тексту в двійкове значення на пулі
+ * fork/join. Текст читається потоком і ділиться на шматки по
+ * <tt>chunkDigits</tt> цифр; кожен шматок переводиться у <tt>BigInteger</tt>
+ * окремою задачею одразу після читання. Задача відпускає цифри шматка після
+ * розбору, а читання чекає на пул, якщо нерозібраних шматків забагато, тож
+ * увесь текст ніколи не зберігається в пам'яті.<p>
+ *
+ * Шматки об'єднуються деревом: ліва частина множиться на
+ * <tt>10<sup>chunkDigits * 2<sup>k</sup></sup></tt> і додається до правої, де
+ * права частина містить <tt>2<sup>k</sup></tt> шматків. Степені десяти
+ * обчислюються послідовним піднесенням до квадрата, поки шматки ще
+ * розбираються.<p>
+ *
+ * Правила розбору такі самі, як у {@link NumberListImpl#NumberListImpl(java.io.File)}:
+ * пробіли на краях рядка пропускаються, від'ємне або некоректне число чи
+ * порожній рядок дають порожній список.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class ParallelDecimalParser {
+
+    static final int DEFAULT_CHUNK_DIGITS = 4096;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int chunkDigits;
+
+    ParallelDecimalParser(ForkJoinPool pool) {
+        this(pool, DEFAULT_CHUNK_DIGITS);
+    }
+
+    ParallelDecimalParser(ForkJoinPool pool, int chunkDigits) {
+        if (chunkDigits <= 0) {
+            throw new IllegalArgumentException("Розмір шматка має бути додатним: " + chunkDigits);
+        }
+        this.pool = pool;
+        this.chunkDigits = chunkDigits;
+    }
+
+    /**
+     * Parses first line of the stream.
+     *
+     * @return value of the line, or <tt>null</tt> if the list has to be empty.
+     * @throws IOException if the stream can not be read.
+     */
+    BigInteger parse(InputStream in) throws IOException {
+        List<ForkJoinTask<BigInteger>> chunks = new ArrayList<>();
+        int maxPending = 2 * pool.getParallelism();
+        int parsed = 0; // шматки [0, parsed) уже розібрано
+        byte[] chunk = new byte[chunkDigits];
+        int filled = 0;
+        boolean negative = false;
+        boolean signSeen = false;
+        boolean digitsSeen = false;
+        boolean digitsEnded = false; // після цифр дозволені лише пробіли
+        boolean invalid = false;
+
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int read;
+        reading:
+        while ((read = in.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                byte c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    break reading;
+                }
+                if (c >= '0' && c <= '9') {
+                    if (digitsEnded) {
+                        invalid = true;
+                        break reading;
+                    }
+                    digitsSeen = true;
+                    chunk[filled++] = c;
+                    if (filled == chunkDigits) {
+                        chunks.add(pool.submit(new ChunkTask(chunk)));
+                        // Якщо пул відстає від читання, чекаємо на нього, щоб у
+                        // пам'яті були цифри не більше ніж maxPending шматків
+                        while (chunks.size() - parsed > maxPending) {
+                            chunks.get(parsed++).join();
+                        }
+                        chunk = new byte[chunkDigits];
+                        filled = 0;
+                    }
+                } else if (Character.isWhitespace(c)) {
+                    digitsEnded = digitsSeen || signSeen;
+                } else if ((c == '-' || c == '+') && !signSeen && !digitsSeen) {
+                    signSeen = true;
+                    negative = c == '-';
+                } else {
+                    invalid = true;
+                    break reading;
+                }
+            }
+        }
+        if (invalid || !digitsSeen) {
+            // Некоректний, порожній рядок або лише знак
+            return null;
+        }
+
+        BigInteger value;
+        if (chunks.isEmpty()) {
+            value = parseChunk(chunk, filled);
+        } else {
+            // Степені десяти рахуються, поки шматки розбираються на пулі
+            BigInteger[] powers = new BigInteger[Math.max(1, 32 - Integer.numberOfLeadingZeros(chunks.size() - 1))];
+            powers[0] = BigInteger.TEN.pow(chunkDigits);
+            for (int k = 1; k < powers.length; k++) {
+                powers[k] = powers[k - 1].multiply(powers[k - 1]);
+            }
+            value = pool.invoke(new Combine(chunks, powers, 0, chunks.size()));
+            if (filled > 0) {
+                value = value.multiply(BigInteger.TEN.pow(filled)).add(parseChunk(chunk, filled));
+            }
+        }
+        return negative && value.signum() != 0 ? null : value;
+    }
+
+    private static BigInteger parseChunk(byte[] digits, int length) {
+        return new BigInteger(new String(digits, 0, length, StandardCharsets.ISO_8859_1));
+    }
+
+    // Значення одного шматка; після розбору задача тримає лише результат, а не цифри
+    @SuppressWarnings("serial") // задачі пулу не серіалізуються
+    private static final class ChunkTask extends RecursiveTask<BigInteger> {
+
+        private byte[] digits;
+
+        ChunkTask(byte[] digits) {
+            this.digits = digits;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            BigInteger value = parseChunk(digits, digits.length);
+            digits = null;
+            return value;
+        }
+    }
+
+    // Значення шматків [from, to): права частина має 2^k шматків
+    @SuppressWarnings("serial")
+    private static final class Combine extends RecursiveTask<BigInteger> {
+
+        private final List<ForkJoinTask<BigInteger>> chunks;
+        private final BigInteger[] powers;
+        private final int from;
+        private final int to;
+
+        Combine(List<ForkJoinTask<BigInteger>> chunks, BigInteger[] powers, int from, int to) {
+            this.chunks = chunks;
+            this.powers = powers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            int count = to - from;
+            if (count == 1) {
+                return chunks.get(from).join();
+            }
+            int rightCount = Integer.highestOneBit(count - 1);
+            int middle = to - rightCount;
+            Combine left = new Combine(chunks, powers, from, middle);
+            left.fork();
+            BigInteger right = new Combine(chunks, powers, middle, to).compute();
+            return left.join().multiply(powers[Integer.numberOfTrailingZeros(rightCount)]).add(right);
+        }
+    }
+}
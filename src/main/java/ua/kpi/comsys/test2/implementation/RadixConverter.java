@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Переведення послідовностей цифр між системами числення з основами від
+ * {@link #MIN_BASE} до {@link #MAX_BASE}. Цифри - значення (не символи),
+ * старша цифра перша.<p>
+ *
+ * Між основами-степенями двійки (2, 4, 8, 16, 32) цифра - це просто група
+ * бітів, тож переведення зводиться до перегрупування бітів за лінійний час.
+ * Решта пар основ переводиться через <tt>BigInteger</tt>, де для великих
+ * чисел використовується рекурсивне ділення.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class RadixConverter {
+
+    static final int MIN_BASE = 2;
+    static final int MAX_BASE = 36;
+
+    // Кількість десяткових цифр, які переводяться в рядок одним шматком
+    static final int DECIMAL_LEAF_DIGITS = 256;
+
+    private RadixConverter() {
+    }
+
+    static void checkBase(int base) {
+        if (base < MIN_BASE || base > MAX_BASE) {
+            throw new IllegalArgumentException("Основа має бути в діапазоні [" + MIN_BASE + ", " + MAX_BASE + "]: " + base);
+        }
+    }
+
+    static boolean isPowerOfTwo(int base) {
+        return (base & (base - 1)) == 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if digits of one base can be regrouped into
+     * digits of other base bit by bit.
+     */
+    static boolean canRegroup(int fromBase, int toBase) {
+        return isPowerOfTwo(fromBase) && isPowerOfTwo(toBase);
+    }
+
+    /**
+     * Converts <tt>length</tt> digits starting from <tt>src[off]</tt> between
+     * power-of-two bases; digits are unsigned, so <tt>fromBase</tt> may be 256.
+     * Result has no leading zeros, zero is one digit 0.
+     */
+    static byte[] regroup(byte[] src, int off, int length, int fromBase, int toBase) {
+        int fromBits = Integer.numberOfTrailingZeros(fromBase);
+        int toBits = Integer.numberOfTrailingZeros(toBase);
+        int toMask = toBase - 1;
+
+        byte[] result = new byte[(int) Math.max(1, ((long) length * fromBits + toBits - 1) / toBits)];
+        int pos = result.length;
+        long acc = 0;
+        int accBits = 0;
+        // Від молодшої цифри до старшої: біти накопичуються і видаються групами по toBits
+        for (int i = off + length - 1; i >= off; i--) {
+            acc |= (src[i] & 0xFFL) << accBits;
+            accBits += fromBits;
+            while (accBits >= toBits) {
+                result[--pos] = (byte) (acc & toMask);
+                acc >>>= toBits;
+                accBits -= toBits;
+            }
+        }
+        if (accBits > 0) {
+            result[--pos] = (byte) acc;
+        }
+        return stripLeadingZeros(result);
+    }
+
+    /**
+     * Returns value of <tt>length</tt> digits starting from <tt>src[off]</tt>.
+     */
+    static BigInteger toBigInteger(byte[] src, int off, int length, int base) {
+        if (length == 0) {
+            return BigInteger.ZERO;
+        }
+        if (isPowerOfTwo(base)) {
+            // Перегрупування у байти - це основа 256, тобто магнітуда BigInteger
+            int bits = Integer.numberOfTrailingZeros(base);
+            byte[] bytes = new byte[(int) (((long) length * bits + 7) >>> 3)];
+            int pos = bytes.length;
+            long acc = 0;
+            int accBits = 0;
+            for (int i = off + length - 1; i >= off; i--) {
+                acc |= (long) src[i] << accBits;
+                accBits += bits;
+                if (accBits >= Byte.SIZE) {
+                    bytes[--pos] = (byte) acc;
+                    acc >>>= Byte.SIZE;
+                    accBits -= Byte.SIZE;
+                }
+            }
+            if (accBits > 0) {
+                bytes[--pos] = (byte) acc;
+            }
+            return new BigInteger(1, bytes);
+        }
+
+        byte[] chars = new byte[length];
+        DigitScanner.toAscii(src, off, length, chars, 0, base);
+        return new BigInteger(new String(chars, StandardCharsets.ISO_8859_1), base);
+    }
+
+    /**
+     * Writes non-negative value as ASCII <b>decimal</b> digits into the
+     * stream. The value is split recursively by powers
+     * <tt>10<sup>DECIMAL_LEAF_DIGITS * 2<sup>k</sup></sup></tt> and written
+     * piece by piece from the most significant one, so the whole decimal
+     * string is never built.
+     */
+    static void writeDecimal(BigInteger value, OutputStream out) throws IOException {
+        // powers[k] = 10^(DECIMAL_LEAF_DIGITS * 2^k), поки не перевищує значення
+        List<BigInteger> powers = new ArrayList<>();
+        BigInteger power = BigInteger.TEN.pow(DECIMAL_LEAF_DIGITS);
+        while (power.compareTo(value) <= 0) {
+            powers.add(power);
+            power = power.multiply(power);
+        }
+        writeDecimal(value, powers, powers.size() - 1, false, new byte[DECIMAL_LEAF_DIGITS], out);
+    }
+
+    // Значення менше за powers[level]^2; pad - доповнити нулями до повної довжини рівня
+    private static void writeDecimal(BigInteger value, List<BigInteger> powers, int level, boolean pad,
+                                     byte[] leaf, OutputStream out) throws IOException {
+        if (level < 0) {
+            String digits = value.toString();
+            int offset = pad ? leaf.length - digits.length() : 0;
+            for (int i = 0; i < offset; i++) {
+                leaf[i] = '0';
+            }
+            for (int i = 0; i < digits.length(); i++) {
+                leaf[offset + i] = (byte) digits.charAt(i);
+            }
+            out.write(leaf, 0, offset + digits.length());
+            return;
+        }
+
+        BigInteger[] parts = value.divideAndRemainder(powers.get(level));
+        if (pad || parts[0].signum() != 0) {
+            writeDecimal(parts[0], powers, level - 1, pad, leaf, out);
+            pad = true;
+        }
+        writeDecimal(parts[1], powers, level - 1, pad, leaf, out);
+    }
+
+    private static byte[] stripLeadingZeros(byte[] digits) {
+        int first = 0;
+        while (first < digits.length - 1 && digits[first] == 0) {
+            first++;
+        }
+        if (first == 0) {
+            return digits;
+        }
+        byte[] result = new byte[digits.length - first];
+        System.arraycopy(digits, first, result, 0, result.length);
+        return result;
+    }
+}
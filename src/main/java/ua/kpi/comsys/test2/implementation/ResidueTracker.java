@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Остачі від ділення числа на набір модулів, які оновлюються при зміні
+ * цифр без повного перерахунку. Останній модуль - просте число
+ * <tt>2<sup>31</sup> - 1</tt> для контрольної суми.<p>
+ *
+ * Зміна цифри з <tt>t</tt> молодшими розрядами після неї додає
+ * <tt>(d' - d) * base<sup>t</sup></tt>, де степінь обчислюється за
+ * O(log t). Вставка та видалення зсувають усі старші розряди, тому
+ * потребують також остачі префікса (старших цифр) або суфікса (молодших
+ * цифр) - власник обчислює коротшу з них.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class ResidueTracker {
+
+    static final int CHECKSUM_MODULUS = Integer.MAX_VALUE; // 2^31 - 1, просте
+
+    private final int base;
+    private final int[] moduli;
+    private final long[] residues;
+    private final long[] baseInverse; // base^-1 mod m, або -1, якщо не існує
+    private final boolean invertible; // base оборотна за всіма модулями
+    private boolean valid = true;
+
+    ResidueTracker(int base, int[] userModuli) {
+        this.base = base;
+        this.moduli = Arrays.copyOf(userModuli, userModuli.length + 1);
+        this.moduli[userModuli.length] = CHECKSUM_MODULUS;
+        this.residues = new long[moduli.length];
+        this.baseInverse = new long[moduli.length];
+
+        boolean all = true;
+        for (int k = 0; k < moduli.length; k++) {
+            baseInverse[k] = inverse(base % moduli[k], moduli[k]);
+            all &= baseInverse[k] >= 0;
+        }
+        this.invertible = all;
+    }
+
+    int count() {
+        return moduli.length;
+    }
+
+    int[] userModuli() {
+        return Arrays.copyOf(moduli, moduli.length - 1);
+    }
+
+    /**
+     * Returns position of modulus in the set, or -1 if it is not tracked.
+     */
+    int indexOf(int modulus) {
+        for (int k = 0; k < moduli.length; k++) {
+            if (moduli[k] == modulus) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    long residue(int k) {
+        return residues[k];
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    boolean isBaseInvertible() {
+        return invertible;
+    }
+
+    /**
+     * Sets residues of the number and makes them valid.
+     */
+    void reset(long[] newResidues) {
+        System.arraycopy(newResidues, 0, residues, 0, residues.length);
+        valid = true;
+    }
+
+    long[] zero() {
+        return new long[moduli.length];
+    }
+
+    // Крок схеми Горнера: acc = acc * base + digit для всіх модулів
+    void appendTo(long[] acc, int digit) {
+        for (int k = 0; k < moduli.length; k++) {
+            acc[k] = (acc[k] * base + digit) % moduli[k];
+        }
+    }
+
+    // Додає цифру з вагою weight до суми молодших розрядів і множить вагу на base
+    void addLowDigit(long[] acc, long[] weight, int digit) {
+        for (int k = 0; k < moduli.length; k++) {
+            acc[k] = (acc[k] + digit * weight[k]) % moduli[k];
+            weight[k] = weight[k] * base % moduli[k];
+        }
+    }
+
+    long[] ones() {
+        long[] one = new long[moduli.length];
+        for (int k = 0; k < moduli.length; k++) {
+            one[k] = 1 % moduli[k];
+        }
+        return one;
+    }
+
+    void append(int digit) {
+        appendTo(residues, digit);
+    }
+
+    /**
+     * Digit with <tt>t</tt> digits after it was replaced.
+     */
+    void set(long t, int oldDigit, int newDigit) {
+        for (int k = 0; k < moduli.length; k++) {
+            long m = moduli[k];
+            long delta = Math.floorMod(newDigit - oldDigit, m);
+            residues[k] = (residues[k] + delta * power(t, m)) % m;
+        }
+    }
+
+    /**
+     * Digit was inserted with <tt>t</tt> digits after it; <tt>high</tt> are
+     * residues of digits before it.
+     */
+    void insertAfterPrefix(long t, int digit, long[] high) {
+        // new = old + high * B^t * (B - 1) + d * B^t
+        for (int k = 0; k < moduli.length; k++) {
+            long m = moduli[k];
+            long bt = power(t, m);
+            long shift = high[k] * bt % m * ((base - 1) % m) % m;
+            residues[k] = (residues[k] + shift + digit * bt) % m;
+        }
+    }
+
+    /**
+     * Digit was inserted with <tt>t</tt> digits after it; <tt>low</tt> are
+     * residues of these <tt>t</tt> digits.
+     */
+    void insertBeforeSuffix(long t, int digit, long[] low) {
+        // new = old * B - low * (B - 1) + d * B^t
+        for (int k = 0; k < moduli.length; k++) {
+            long m = moduli[k];
+            long value = residues[k] * (base % m) % m;
+            value = Math.floorMod(value - low[k] * ((base - 1) % m) % m, m);
+            residues[k] = (value + digit * power(t, m)) % m;
+        }
+    }
+
+    /**
+     * Digit with <tt>t</tt> digits after it was removed; <tt>high</tt> are
+     * residues of digits before it.
+     */
+    void removeAfterPrefix(long t, int digit, long[] high) {
+        // new = old - high * B^t * (B - 1) - d * B^t
+        for (int k = 0; k < moduli.length; k++) {
+            long m = moduli[k];
+            long bt = power(t, m);
+            long shift = high[k] * bt % m * ((base - 1) % m) % m;
+            residues[k] = Math.floorMod(residues[k] - shift - digit * bt % m, m);
+        }
+    }
+
+    /**
+     * Digit with <tt>t</tt> digits after it was removed; <tt>low</tt> are
+     * residues of these <tt>t</tt> digits. Base must be invertible.
+     */
+    void removeBeforeSuffix(long t, int digit, long[] low) {
+        // new = (old - d * B^t - low) / B + low
+        for (int k = 0; k < moduli.length; k++) {
+            long m = moduli[k];
+            long value = Math.floorMod(residues[k] - digit * power(t, m) % m - low[k], m);
+            residues[k] = (value * baseInverse[k] + low[k]) % m;
+        }
+    }
+
+    // base^t mod m за O(log t)
+    private long power(long t, long m) {
+        long result = 1 % m;
+        long b = base % m;
+        while (t > 0) {
+            if ((t & 1) != 0) {
+                result = result * b % m;
+            }
+            b = b * b % m;
+            t >>= 1;
+        }
+        return result;
+    }
+
+    // Обернений елемент за розширеним алгоритмом Евкліда, або -1
+    private static long inverse(long a, long m) {
+        long oldR = a, r = m;
+        long oldS = 1, s = 0;
+        while (r != 0) {
+            long q = oldR / r;
+            long tmp = oldR - q * r;
+            oldR = r;
+            r = tmp;
+            tmp = oldS - q * s;
+            oldS = s;
+            s = tmp;
+        }
+        if (oldR != 1) {
+            return m == 1 ? 0 : -1;
+        }
+        return Math.floorMod(oldS, m);
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Список для представлення числа, що зберігає серії однакових цифр парами
+ * (цифра, довжина серії). Для чисел з довгими серіями (степені основи, маски,
+ * відсортовані списки) пам'ять пропорційна кількості серій, а не цифр:
+ * відсортований список займає не більше <tt>base</tt> серій.<p>
+ *
+ * Позиція цифри знаходиться двійковим пошуком за кінцями серій, при зміні
+ * цифр серії розбиваються та зливаються автоматично.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class RunLengthNumberList extends AbstractNumberList {
+
+    private static final int DEFAULT_BASE = 8; // вісімкова система за замовчуванням
+    private static final int INITIAL_CAPACITY = 8;
+
+    // Серія r займає позиції [runEnd[r - 1], runEnd[r]) і складається з цифр runDigit[r];
+    // сусідні серії завжди мають різні цифри
+    private byte[] runDigit;
+    private int[] runEnd;
+    private int runs; // кількість серій
+
+    /**
+     * Default constructor. Returns empty <tt>RunLengthNumberList</tt>
+     */
+    public RunLengthNumberList() {
+        this(DEFAULT_BASE);
+    }
+
+    /**
+     * Constructor with custom base.
+     *
+     * @param base - base of number system
+     */
+    private RunLengthNumberList(int base) {
+        super(base);
+        this.runDigit = new byte[INITIAL_CAPACITY];
+        this.runEnd = new int[INITIAL_CAPACITY];
+        this.runs = 0;
+    }
+
+
+    /**
+     * Constructs new <tt>RunLengthNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public RunLengthNumberList(String value) {
+        this();
+        convertFromDecimal(value);
+    }
+
+
+    /**
+     * Constructs new <tt>RunLengthNumberList</tt> by <b>decimal</b> number
+     * from file, defined in string format. Gzip-compressed file is
+     * recognized by its signature and decompressed while reading.
+     *
+     * @param file - file where number is stored.
+     */
+    public RunLengthNumberList(File file) {
+        this();
+        convertFromFile(file);
+    }
+
+
+    /**
+     * Appends <tt>count</tt> copies of digit to the end of the list.
+     *
+     * @param digit - digit to append
+     * @param count - number of copies
+     */
+    public void addRun(byte digit, int count) {
+        checkDigit(digit);
+        if (count < 0) {
+            throw new IllegalArgumentException("Кількість цифр має бути невід'ємною: " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+
+        int size = size();
+        if (runs > 0 && runDigit[runs - 1] == digit) {
+            runEnd[runs - 1] = size + count;
+        } else {
+            insertRuns(runs, 1);
+            runDigit[runs - 1] = digit;
+            runEnd[runs - 1] = size + count;
+        }
+    }
+
+
+    /**
+     * Returns number of runs of equal digits in the list.
+     *
+     * @return number of stored runs.
+     */
+    public int runCount() {
+        return runs;
+    }
+
+    private int runStart(int r) {
+        return r == 0 ? 0 : runEnd[r - 1];
+    }
+
+    // Номер серії, що містить позицію index
+    private int findRun(int index) {
+        int low = 0;
+        int high = runs - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (runEnd[mid] > index) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Вставляє count порожніх серій перед серією at
+    private void insertRuns(int at, int count) {
+        if (runs + count > runDigit.length) {
+            int capacity = Math.max(runs + count, runDigit.length * 2);
+            runDigit = Arrays.copyOf(runDigit, capacity);
+            runEnd = Arrays.copyOf(runEnd, capacity);
+        }
+        System.arraycopy(runDigit, at, runDigit, at + count, runs - at);
+        System.arraycopy(runEnd, at, runEnd, at + count, runs - at);
+        runs += count;
+    }
+
+    private void removeRun(int r) {
+        System.arraycopy(runDigit, r + 1, runDigit, r, runs - r - 1);
+        System.arraycopy(runEnd, r + 1, runEnd, r, runs - r - 1);
+        runs--;
+    }
+
+    // Зсуває кінці серій, починаючи з from
+    private void shiftEnds(int from, int delta) {
+        for (int r = from; r < runs; r++) {
+            runEnd[r] += delta;
+        }
+    }
+
+
+    @Override
+    protected byte digitAt(int index) {
+        return runDigit[findRun(index)];
+    }
+
+    @Override
+    protected void setDigit(int index, byte digit) {
+        if (runDigit[findRun(index)] != digit) {
+            removeDigit(index);
+            insertDigit(index, digit);
+        }
+    }
+
+    @Override
+    protected void insertDigit(int index, byte digit) {
+        int size = size();
+
+        // Цифра продовжує сусідню серію
+        if (index > 0) {
+            int left = findRun(index - 1);
+            if (runDigit[left] == digit) {
+                shiftEnds(left, 1);
+                return;
+            }
+        }
+        if (index < size) {
+            int right = findRun(index);
+            if (runDigit[right] == digit) {
+                shiftEnds(right, 1);
+                return;
+            }
+        }
+
+        if (index == size) {
+            insertRuns(runs, 1);
+            runDigit[runs - 1] = digit;
+            runEnd[runs - 1] = size + 1;
+            return;
+        }
+
+        int r = findRun(index);
+        if (index == runStart(r)) {
+            // Нова серія між двома наявними
+            insertRuns(r, 1);
+            runDigit[r] = digit;
+            runEnd[r] = index;
+            shiftEnds(r, 1);
+        } else {
+            // Розбиваємо серію r на дві частини з новою серією посередині
+            int end = runEnd[r];
+            insertRuns(r + 1, 2);
+            runEnd[r] = index;
+            runDigit[r + 1] = digit;
+            runEnd[r + 1] = index + 1;
+            runDigit[r + 2] = runDigit[r];
+            runEnd[r + 2] = end;
+            shiftEnds(r + 2, 1);
+        }
+    }
+
+    @Override
+    protected byte removeDigit(int index) {
+        int r = findRun(index);
+        byte digit = runDigit[r];
+        shiftEnds(r, -1);
+
+        if (runEnd[r] == runStart(r)) {
+            removeRun(r);
+            // Сусідні серії з однаковими цифрами зливаються
+            if (r > 0 && r < runs && runDigit[r - 1] == runDigit[r]) {
+                runEnd[r - 1] = runEnd[r];
+                removeRun(r);
+            }
+        }
+        return digit;
+    }
+
+    @Override
+    protected AbstractNumberList createEmpty(int base) {
+        return new RunLengthNumberList(base);
+    }
+
+
+    @Override
+    public int size() {
+        return runs == 0 ? 0 : runEnd[runs - 1];
+    }
+
+
+    @Override
+    public void clear() {
+        runs = 0;
+    }
+
+
+    @Override
+    public int[] digitHistogram() {
+        int[] histogram = new int[base];
+        for (int r = 0; r < runs; r++) {
+            histogram[runDigit[r]] += runEnd[r] - runStart(r);
+        }
+        return histogram;
+    }
+
+
+    @Override
+    protected byte[] digitValues() {
+        byte[] values = new byte[size()];
+        for (int r = 0; r < runs; r++) {
+            Arrays.fill(values, runStart(r), runEnd[r], runDigit[r]);
+        }
+        return values;
+    }
+
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "0";
+        }
+
+        StringBuilder sb = new StringBuilder(size());
+        for (int r = 0; r < runs; r++) {
+            char c = (char) DigitScanner.DIGIT_CHARS[runDigit[r]];
+            for (int i = runStart(r); i < runEnd[r]; i++) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte)) {
+            return -1;
+        }
+
+        for (int r = 0; r < runs; r++) {
+            if (runDigit[r] == (Byte) o) {
+                return runStart(r);
+            }
+        }
+        return -1;
+    }
+
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte)) {
+            return -1;
+        }
+
+        for (int r = runs - 1; r >= 0; r--) {
+            if (runDigit[r] == (Byte) o) {
+                return runEnd[r] - 1;
+            }
+        }
+        return -1;
+    }
+
+
+    @Override
+    public void sortAscending() {
+        int[] histogram = digitHistogram();
+        runs = 0;
+        for (int d = 0; d < base; d++) {
+            addRun((byte) d, histogram[d]);
+        }
+    }
+
+
+    @Override
+    public void sortDescending() {
+        int[] histogram = digitHistogram();
+        runs = 0;
+        for (int d = base - 1; d >= 0; d--) {
+            addRun((byte) d, histogram[d]);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Віднімання двох чисел, що зберігаються у файлах, без завантаження їх у
+ * пам'ять. Цифри читаються блоками від молодших до старших, результат
+ * записується у вихідний файл на свої позиції, тож пам'ять пропорційна
+ * розміру блоку, а не довжині чисел.<p>
+ *
+ * Як і {@link NumberListImpl#additionalOperation(ua.kpi.comsys.test2.NumberList)},
+ * від'ємна різниця дає порожнє число.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+public final class StreamingSubtraction {
+
+    private static final int BASE = 8; // вісімкова система
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private StreamingSubtraction() {
+    }
+
+
+    /**
+     * Writes <tt>minuend - subtrahend</tt> into <tt>result</tt> file using
+     * blocks of default size.
+     *
+     * @see #subtract(File, File, File, DigitFileFormat, int)
+     */
+    public static long subtract(File minuend, File subtrahend, File result, DigitFileFormat format)
+            throws IOException {
+        return subtract(minuend, subtrahend, result, format, DEFAULT_BLOCK_SIZE);
+    }
+
+
+    /**
+     * Writes <tt>minuend - subtrahend</tt> into <tt>result</tt> file.
+     * Format of every input file is detected by its header, so binary and
+     * text operands can be mixed.
+     *
+     * @param minuend - file with first operand
+     * @param subtrahend - file with second operand
+     * @param result - file where difference has to be stored
+     * @param format - format of result file
+     * @param blockSize - number of digits processed at once
+     * @return number of digits in result, 0 if difference is negative.
+     * @throws IOException if files can not be read or written, or contain
+     * something other than octal digits.
+     */
+    public static long subtract(File minuend, File subtrahend, File result, DigitFileFormat format, int blockSize)
+            throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Розмір блоку має бути додатним: " + blockSize);
+        }
+
+        try (DigitSource a = new DigitSource(minuend, blockSize);
+             DigitSource b = new DigitSource(subtrahend, blockSize);
+             FileChannel out = FileChannel.open(result.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            int header = format.headerSize();
+            if (format == DigitFileFormat.BINARY) {
+                writeFully(out, ByteBuffer.wrap(DigitFileFormat.header(BASE)), 0);
+            }
+
+            long n = Math.max(a.length(), b.length());
+            if (n == 0) {
+                // 0 - 0 = 0
+                writeFully(out, ByteBuffer.wrap(new byte[] {format.toByte(0)}), header);
+                return 1;
+            }
+
+            byte[] da = new byte[blockSize];
+            byte[] db = new byte[blockSize];
+            ByteBuffer block = ByteBuffer.allocate(blockSize);
+            int borrow = 0;
+            long top = -1; // номер (від молодшої) найстаршої ненульової цифри
+
+            for (long done = 0; done < n; ) {
+                int k = (int) Math.min(blockSize, n - done);
+                a.readLower(da, k);
+                b.readLower(db, k);
+
+                block.clear();
+                for (int i = k - 1; i >= 0; i--) {
+                    int d = da[i] - db[i] - borrow;
+                    if (d < 0) {
+                        d += BASE;
+                        borrow = 1;
+                    } else {
+                        borrow = 0;
+                    }
+                    if (d != 0) {
+                        // номери цифр лише зростають, тож остання ненульова - найстарша
+                        top = done + (k - 1 - i);
+                    }
+                    block.put(i, format.toByte(d));
+                }
+                block.limit(k);
+                writeFully(out, block, header + (n - done - k));
+                done += k;
+            }
+
+            if (borrow != 0) {
+                // Від'ємна різниця - порожнє число
+                out.truncate(header);
+                return 0;
+            }
+
+            // Прибираємо провідні нулі, залишаючи щонайменше одну цифру
+            long digits = top < 0 ? 1 : top + 1;
+            long zeros = n - digits;
+            if (zeros > 0) {
+                ByteBuffer copy = ByteBuffer.allocate(blockSize);
+                for (long moved = 0; moved < digits; ) {
+                    copy.clear();
+                    copy.limit((int) Math.min(blockSize, digits - moved));
+                    readFully(out, copy, header + zeros + moved);
+                    copy.flip();
+                    writeFully(out, copy, header + moved);
+                    moved += copy.limit();
+                }
+                out.truncate(header + digits);
+            }
+            return digits;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Неочікуваний кінець файлу");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+
+    // Джерело цифр одного операнда, що читається блоками з кінця файлу
+    private static final class DigitSource implements AutoCloseable {
+        private final File file;
+        private final FileChannel channel;
+        private final DigitFileFormat format;
+        private final ByteBuffer buffer;
+        private final long start; // позиція першої цифри у файлі
+        private long end; // позиція за останньою ще не прочитаною цифрою
+
+        DigitSource(File file, int blockSize) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                this.format = DigitFileFormat.detect(channel);
+                this.buffer = ByteBuffer.allocate(blockSize);
+
+                if (format == DigitFileFormat.BINARY) {
+                    if (DigitFileFormat.baseOf(readAt(0, DigitFileFormat.HEADER_SIZE)) != BASE) {
+                        throw new IOException("Файл не містить вісімкового числа: " + file);
+                    }
+                    this.start = DigitFileFormat.HEADER_SIZE;
+                    this.end = channel.size();
+                } else {
+                    long s = 0;
+                    long e = channel.size();
+                    while (s < e && isSpace(readAt(s, 1)[0])) {
+                        s++;
+                    }
+                    while (e > s && isSpace(readAt(e - 1, 1)[0])) {
+                        e--;
+                    }
+                    this.start = s;
+                    this.end = e;
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        long length() {
+            return end - start;
+        }
+
+        // Читає k молодших ще не прочитаних цифр у dst[0..k), старша - перша;
+        // якщо цифр не вистачає, спереду доповнює нулями
+        void readLower(byte[] dst, int k) throws IOException {
+            int available = (int) Math.min(k, end - start);
+            int pad = k - available;
+            for (int i = 0; i < pad; i++) {
+                dst[i] = 0;
+            }
+            if (available == 0) {
+                return;
+            }
+
+            buffer.clear();
+            buffer.limit(available);
+            readFully(channel, buffer, end - available);
+            end -= available;
+
+            for (int i = 0; i < available; i++) {
+                int digit = format.toDigit(buffer.get(i), BASE);
+                if (digit < 0) {
+                    throw new IOException("Некоректна цифра у файлі: " + file);
+                }
+                dst[pad + i] = (byte) digit;
+            }
+        }
+
+        private byte[] readAt(long position, int length) throws IOException {
+            ByteBuffer b = ByteBuffer.allocate(length);
+            readFully(channel, b, position);
+            return b.array();
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
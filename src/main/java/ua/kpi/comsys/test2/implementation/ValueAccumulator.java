@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Двійкове значення числа, яке оновлюється при дописуванні цифр у кінець:
+ * <tt>value = value * base + d</tt>. Цифри накопичуються в <tt>int</tt>,
+ * доки вміщуються, і додаються до значення пакетом одним множенням на
+ * <tt>base<sup>k</sup></tt>, тож на кожне слово значення припадає одне
+ * множення на пакет з кількох цифр.<p>
+ *
+ * Після будь-якої іншої зміни цифр значення стає недійсним, і власник має
+ * задати його заново методом {@link #reset(BigInteger)}.
+ *
+ * @author Семенюк Катерина Василівна
+ * Група: ІС-33
+ * Варіант: 17
+ */
+final class ValueAccumulator {
+
+    private static final long MASK = 0xFFFFFFFFL;
+
+    private final int base;
+    private final int batchDigits; // цифр у пакеті: base^batchDigits < 2^31
+    private final int batchScale; // base^batchDigits
+
+    private int[] limbs = new int[4]; // молодше 32-бітне слово перше
+    private int length; // кількість значущих слів
+    private int pending; // значення цифр, ще не доданих до limbs
+    private int pendingDigits;
+    private BigInteger value = BigInteger.ZERO; // кеш, null - потрібно зібрати
+    private boolean valid = true;
+
+    ValueAccumulator(int base) {
+        this.base = base;
+        int digits = 0;
+        long scale = 1;
+        while (scale * base <= Integer.MAX_VALUE) {
+            scale *= base;
+            digits++;
+        }
+        this.batchDigits = digits;
+        this.batchScale = (int) scale;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    void invalidate() {
+        valid = false;
+        value = null;
+    }
+
+    /**
+     * Sets accumulated value and makes it valid.
+     */
+    void reset(BigInteger newValue) {
+        byte[] bytes = newValue.toByteArray();
+        length = 0;
+        Arrays.fill(limbs, 0);
+        int words = (bytes.length + 3) >>> 2;
+        if (words > limbs.length) {
+            limbs = new int[words];
+        }
+        // Великий порядок байтів BigInteger -> молодше слово перше
+        for (int i = bytes.length - 1, bit = 0; i >= 0; i--, bit += Byte.SIZE) {
+            limbs[bit >>> 5] |= (bytes[i] & 0xFF) << (bit & 31);
+        }
+        length = words;
+        while (length > 0 && limbs[length - 1] == 0) {
+            length--;
+        }
+        pending = 0;
+        pendingDigits = 0;
+        value = newValue;
+        valid = true;
+    }
+
+    void append(byte digit) {
+        pending = pending * base + digit;
+        if (++pendingDigits == batchDigits) {
+            multiplyAdd(batchScale, pending);
+            pending = 0;
+            pendingDigits = 0;
+        }
+        value = null;
+    }
+
+    /**
+     * Returns accumulated value. Accumulator must be valid.
+     */
+    BigInteger value() {
+        if (value == null) {
+            if (pendingDigits > 0) {
+                int scale = 1;
+                for (int i = 0; i < pendingDigits; i++) {
+                    scale *= base;
+                }
+                multiplyAdd(scale, pending);
+                pending = 0;
+                pendingDigits = 0;
+            }
+
+            byte[] bytes = new byte[length * Integer.BYTES];
+            for (int i = 0; i < length; i++) {
+                int limb = limbs[i];
+                int at = bytes.length - (i + 1) * Integer.BYTES;
+                bytes[at] = (byte) (limb >>> 24);
+                bytes[at + 1] = (byte) (limb >>> 16);
+                bytes[at + 2] = (byte) (limb >>> 8);
+                bytes[at + 3] = (byte) limb;
+            }
+            value = new BigInteger(1, bytes);
+        }
+        return value;
+    }
+
+    // limbs = limbs * factor + addend
+    private void multiplyAdd(int factor, int addend) {
+        long carry = addend & MASK;
+        for (int i = 0; i < length; i++) {
+            long product = (limbs[i] & MASK) * factor + carry;
+            limbs[i] = (int) product;
+            carry = product >>> 32;
+        }
+        if (carry != 0) {
+            if (length == limbs.length) {
+                limbs = Arrays.copyOf(limbs, length * 2);
+            }
+            limbs[length++] = (int) carry;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberBatchTest {
+    static String PREFIX = "src/test/resources/";
+
+    File outDir;
+    ByteArrayOutputStream out;
+    ByteArrayOutputStream err;
+
+    @Before
+    public void setUp() throws IOException {
+        outDir = Files.createTempDirectory("batch").toFile();
+        out = new ByteArrayOutputStream();
+        err = new ByteArrayOutputStream();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = outDir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        outDir.delete();
+    }
+
+    private int run(String... args) {
+        return NumberBatch.run(args, new PrintStream(out), new PrintStream(err));
+    }
+
+    @Test
+    public void testChangeScaleDirectory() throws IOException {
+        int code = run("--op", "changeScale", "--threads", "2", "--out", outDir.getPath(), PREFIX);
+
+        assertEquals("Batch failed: " + err, 0, code);
+        assertEquals("227", new String(Files.readAllBytes(new File(outDir, "227.txt.dec").toPath())));
+        assertTrue("No summary printed", out.toString().contains("files:      5 processed, 0 failed"));
+    }
+
+    @Test
+    public void testSubtract() throws IOException {
+        int code = run("--op", "subtract", "--arg", PREFIX + "14.txt", "--out", outDir.getPath(), PREFIX + "227.txt");
+
+        assertEquals("Batch failed: " + err, 0, code);
+        assertEquals("213", new String(Files.readAllBytes(new File(outDir, "227.txt.txt").toPath())));
+    }
+
+    @Test
+    public void testUsage() {
+        assertEquals(2, run("--op", "subtract", PREFIX + "1.txt"));
+        assertEquals(2, run("--op", "unknown", PREFIX + "1.txt"));
+        assertEquals(2, run());
+    }
+
+    @Test
+    public void testMissingFileFails() {
+        int code = run("--out", outDir.getPath(), PREFIX + "227.txt", PREFIX + "missing.txt");
+
+        assertEquals(1, code);
+        assertTrue("No summary printed", out.toString().contains("files:      2 processed, 1 failed"));
+        assertTrue("Missing file not reported", err.toString().contains("missing.txt"));
+        assertEquals(2, run("--op", "subtract", "--arg", PREFIX + "missing.txt", PREFIX + "227.txt"));
+    }
+}
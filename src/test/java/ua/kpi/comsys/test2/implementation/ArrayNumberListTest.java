@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayNumberListTest {
+    static String DECIMAL = "1212144468782345613";
+    static String OCTAL = "103223157433616366615";
+
+    ArrayNumberList list;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+    }
+
+    @Test
+    public void testSameAsLinkedList() {
+        list = new ArrayNumberList(DECIMAL);
+
+        assertEquals("Invalid result of toString() ", OCTAL, list.toString());
+        assertEquals("Invalid result of toString() ", new NumberListImpl(DECIMAL).toString(), list.toString());
+        assertEquals("Invalid result of toDecimalString() ", DECIMAL, list.toDecimalString());
+    }
+
+    @Test
+    public void testSearch() {
+        list = new ArrayNumberList(DECIMAL);
+
+        for (byte d = 0; d < 8; d++) {
+            assertEquals("Wrong indexOf(" + d + ")", OCTAL.indexOf('0' + d), list.indexOf(d));
+            assertEquals("Wrong lastIndexOf(" + d + ")", OCTAL.lastIndexOf('0' + d), list.lastIndexOf(d));
+        }
+        assertEquals(-1, list.indexOf(Byte.valueOf((byte) 9)));
+        assertEquals(-1, list.indexOf("1"));
+    }
+
+    @Test
+    public void testHistogramAndSort() {
+        list = new ArrayNumberList(DECIMAL);
+
+        int[] expected = new int[8];
+        for (char c : OCTAL.toCharArray()) {
+            expected[c - '0']++;
+        }
+        assertArrayEquals("Wrong digit histogram", expected, list.digitHistogram());
+
+        char[] sorted = OCTAL.toCharArray();
+        Arrays.sort(sorted);
+        list.sortAscending();
+        assertEquals("Wrong ascending sort", new String(sorted), list.toString());
+
+        list.sortDescending();
+        assertEquals("Wrong descending sort", new StringBuilder(new String(sorted)).reverse().toString(), list.toString());
+    }
+
+    @Test
+    public void testAddDigitsValidation() {
+        list = new ArrayNumberList();
+        list.addDigits(new byte[] {1, 2, 3, 4, 5, 6, 7, 0, 1, 2}, 0, 10);
+        assertEquals("1234567012", list.toString());
+
+        try {
+            list.addDigits(new byte[] {1, 2, 3, 4, 5, 6, 7, 0, 1, 8}, 0, 10);
+        } catch (IllegalArgumentException e) {
+            assertEquals("List modified by invalid input", 10, list.size());
+            return;
+        }
+        assertTrue("Invalid digit was accepted", false);
+    }
+
+    @Test
+    public void testCyclicShift() {
+        list = new ArrayNumberList();
+        list.addDigits(new byte[] {1, 2, 3}, 0, 3);
+
+        list.shiftLeft();
+        assertEquals("231", list.toString());
+        list.shiftRight();
+        list.shiftRight();
+        assertEquals("312", list.toString());
+    }
+
+    @Test
+    public void testToTypedArray() {
+        list = new ArrayNumberList();
+        list.addDigits(new byte[] {1, 2, 3}, 0, 3);
+
+        Byte[] grown = list.toArray(new Byte[0]);
+        assertArrayEquals(new Byte[] {1, 2, 3}, grown);
+
+        Byte[] target = {7, 7, 7, 7, 7};
+        assertTrue("Large enough array must be reused", list.toArray(target) == target);
+        assertArrayEquals(new Byte[] {1, 2, 3, null, 7}, target);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncFileTest {
+    static String PREFIX = "src/test/resources/";
+
+    Path tmp;
+
+    @After
+    public void tearDown() throws IOException {
+        if (tmp != null) {
+            Files.deleteIfExists(tmp);
+            tmp = null;
+        }
+    }
+
+    @Test
+    public void testLoadSameAsConstructor() throws Exception {
+        for (String name : new String[] {"1.txt", "14.txt", "227.txt", "BigNumber.txt", "EmptyFile.txt"}) {
+            File f = new File(PREFIX + name);
+            NumberListImpl expected = new NumberListImpl(f);
+            NumberListImpl actual = NumberListImpl.loadAsync(f.toPath()).get();
+
+            assertEquals("Wrong size for " + name, expected.size(), actual.size());
+            assertEquals("Wrong value for " + name, expected, actual);
+        }
+    }
+
+    @Test
+    public void testManyLoadsOnSmallPool() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<NumberListImpl>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(NumberListImpl.loadAsync(new File(PREFIX + "227.txt").toPath(), pool));
+            }
+            for (CompletableFuture<NumberListImpl> future : futures) {
+                assertEquals("227", future.get().toDecimalString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        tmp = Files.createTempFile("async", ".txt");
+        String value = new String(Files.readAllBytes(new File(PREFIX + "BigNumber.txt").toPath())).trim();
+
+        new NumberListImpl(value).saveAsync(tmp).get();
+
+        assertEquals(value, new String(Files.readAllBytes(tmp)));
+        assertEquals(value, NumberListImpl.loadAsync(tmp).get().toDecimalString());
+    }
+
+    @Test
+    public void testMissingFileFails() throws InterruptedException {
+        try {
+            NumberListImpl.loadAsync(new File(PREFIX, "sadfdsfwf").toPath()).get();
+        } catch (ExecutionException e) {
+            assertTrue("Unexpected cause " + e.getCause(), e.getCause() instanceof NoSuchFileException);
+            return;
+        }
+        assertTrue("Missing file was not reported", false);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class BatchEditTest {
+
+    @Test
+    public void testRandomBatchesAgainstModel() {
+        Random random = new Random(4117);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(40);
+            NumberListImpl list = new NumberListImpl();
+            byte[] content = new byte[size];
+            for (int i = 0; i < size; i++) {
+                content[i] = (byte) random.nextInt(8);
+                list.add(content[i]);
+            }
+
+            // Модель: вміст початкових позицій, вставки перед ними, видалені позиції
+            List<List<Byte>> inserts = new ArrayList<>();
+            for (int i = 0; i <= size; i++) {
+                inserts.add(new ArrayList<>());
+            }
+            boolean[] removed = new boolean[size];
+            int edits = random.nextInt(30);
+
+            list.edit(batch -> {
+                for (int e = 0; e < edits; e++) {
+                    int action = random.nextInt(4);
+                    byte digit = (byte) random.nextInt(8);
+                    if (action == 0 || size == 0) {
+                        int index = random.nextInt(size + 1);
+                        batch.add(index, digit);
+                        inserts.get(index).add(digit);
+                    } else if (action == 1) {
+                        int index = random.nextInt(size);
+                        batch.set(index, digit);
+                        content[index] = digit;
+                    } else if (action == 2) {
+                        int i = random.nextInt(size);
+                        int j = random.nextInt(size);
+                        batch.swap(i, j);
+                        byte temp = content[i];
+                        content[i] = content[j];
+                        content[j] = temp;
+                    } else {
+                        int index = random.nextInt(size);
+                        batch.remove(index);
+                        removed[index] = true;
+                    }
+                }
+            });
+
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i <= size; i++) {
+                for (byte digit : inserts.get(i)) {
+                    expected.append(digit);
+                }
+                if (i < size && !removed[i]) {
+                    expected.append(content[i]);
+                }
+            }
+            assertEquals("Round " + round, expected.toString(), list.toString());
+            assertEquals(expected.length(), list.size());
+        }
+    }
+
+    @Test
+    public void testIndexesReferToListBeforeBatch() {
+        NumberListImpl list = new NumberListImpl("4117");     // 10025
+
+        list.edit(batch -> batch
+                .add(0, (byte) 7)
+                .remove(1)
+                .set(4, (byte) 3)
+                .add(5, (byte) 6)
+                .add(2, (byte) 4)
+                .add(2, (byte) 5));
+
+        assertEquals("71450236", list.toString());
+    }
+
+    @Test
+    public void testInvalidBatchLeavesListUnchanged() {
+        NumberListImpl list = new NumberListImpl("4117");
+
+        try {
+            list.edit(batch -> batch.set(0, (byte) 2).add(6, (byte) 1));
+            fail("Індекс 6 поза межами");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            list.edit(batch -> batch.set(0, (byte) 2).set(1, (byte) 8));
+            fail("Цифра 8 у вісімковій системі");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            list.edit(batch -> {
+                batch.set(0, (byte) 2);
+                throw new IllegalStateException("Помилка в пакеті");
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals("10025", list.toString());
+    }
+
+    @Test
+    public void testValueAndResiduesRecomputed() {
+        NumberListImpl list = new NumberListImpl("123456789123456789");
+        list.setValueTracking(true);
+        list.setTrackedModuli(7, 9);
+        list.toDecimalString();
+
+        list.edit(batch -> batch.swap(0, 3).set(5, (byte) 0).remove(2).add(list.size(), (byte) 1));
+
+        BigInteger value = new BigInteger(list.toString(), 8);
+        assertEquals(value.toString(), list.toDecimalString());
+        assertEquals(value.mod(BigInteger.valueOf(7)).intValue(), list.mod(7));
+        assertEquals(value.mod(BigInteger.valueOf(9)).intValue(), list.mod(9));
+    }
+
+    @Test
+    public void testStructuralBatchInvalidatesIterators() {
+        NumberListImpl list = new NumberListImpl("4117");
+        Iterator<Byte> contentOnly = list.iterator();
+        list.edit(batch -> batch.set(0, (byte) 7));
+        contentOnly.next();
+
+        Iterator<Byte> structural = list.iterator();
+        list.edit(batch -> batch.remove(0));
+        try {
+            structural.next();
+            fail("Ітератор не помітив зміну");
+        } catch (ConcurrentModificationException expected) {
+        }
+    }
+
+    @Test
+    public void testEmptyListAndRemoveAll() {
+        NumberListImpl list = new NumberListImpl();
+        list.edit(batch -> batch.add(0, (byte) 1).add(0, (byte) 2));
+        assertEquals("12", list.toString());
+
+        list.edit(batch -> batch.remove(0).remove(1).remove(1));
+        assertEquals(0, list.size());
+        list.add((byte) 5);
+        assertEquals("5", list.toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBatchClosedAfterEdit() {
+        NumberListImpl list = new NumberListImpl("4117");
+        BatchEdit[] saved = new BatchEdit[1];
+        list.edit(batch -> saved[0] = batch);
+        saved[0].set(0, (byte) 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableList() {
+        NumberListImpl.valueOf("4117").edit(batch -> batch.set(0, (byte) 1));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BitwiseOperationsTest {
+
+    private static String octal(BigInteger value) {
+        return value.toString(8);
+    }
+
+    @Test
+    public void testAgainstBigInteger() {
+        Random random = new Random(4117);
+        for (int round = 0; round < 50; round++) {
+            BigInteger a = new BigInteger(random.nextInt(400) + 1, random);
+            BigInteger b = new BigInteger(random.nextInt(400) + 1, random);
+            NumberListImpl x = new NumberListImpl(a.toString());
+            NumberListImpl y = new NumberListImpl(b.toString());
+            int n = random.nextInt(200);
+
+            assertEquals(octal(a.and(b)), x.and(y).toString());
+            assertEquals(octal(a.or(b)), x.or(y).toString());
+            assertEquals(octal(a.xor(b)), x.xor(y).toString());
+            assertEquals(octal(a.shiftLeft(n)), x.shiftBitsLeft(n).toString());
+            assertEquals(octal(a.shiftRight(n)), x.shiftBitsRight(n).toString());
+            assertEquals(a.bitCount(), x.bitCount());
+
+            BigInteger mask = BigInteger.ONE.shiftLeft(n).subtract(BigInteger.ONE);
+            assertEquals(octal(a.not().and(mask)), x.not(n).toString());
+        }
+    }
+
+    @Test
+    public void testNotComplementsOctalDigits() {
+        NumberListImpl list = new NumberListImpl("4117");        // 10025
+
+        assertEquals("67752", list.not(15).toString());
+        assertEquals("52", list.not(6).toString());
+        assertEquals("0", list.not(0).toString());
+    }
+
+    @Test
+    public void testMixedPowerOfTwoBases() {
+        NumberListImpl octal = new NumberListImpl("4117");
+        NumberListImpl hex = new NumberListImpl("255", 16);
+
+        NumberListImpl result = octal.and(hex);
+        assertEquals(8, result.getBase());
+        assertEquals(String.valueOf(4117 & 255), result.toDecimalString());
+        assertEquals(String.valueOf(4117 | 255), hex.or(octal).toDecimalString());
+        assertEquals(16, hex.or(octal).getBase());
+    }
+
+    @Test
+    public void testZeroAndEmpty() {
+        NumberListImpl empty = new NumberListImpl();
+        NumberListImpl list = new NumberListImpl("4117");
+
+        assertEquals("0", empty.and(list).toString());
+        assertEquals("10025", empty.or(list).toString());
+        assertEquals(0, empty.bitCount());
+        assertEquals("0", list.shiftBitsRight(1000).toString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDecimalBaseRejected() {
+        new NumberListImpl("4117").changeScale().bitCount();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWidth() {
+        new NumberListImpl("4117").not(-1);
+    }
+}
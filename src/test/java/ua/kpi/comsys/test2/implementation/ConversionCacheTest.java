@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConversionCacheTest {
+
+    private static byte[] digits(String s) {
+        return s.getBytes();
+    }
+
+    @Test
+    public void testRepeatedConversionComputedOnce() {
+        ConversionCache cache = new ConversionCache(1024, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = cache.convert(digits("14"), 8, 10, () -> { calls.incrementAndGet(); return "12"; });
+        // Той самий вміст в іншому масиві
+        String second = cache.convert(digits("14"), 8, 10, () -> { calls.incrementAndGet(); return "12"; });
+
+        assertEquals("12", first);
+        assertEquals("12", second);
+        assertEquals("Conversion was repeated", 1, calls.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.5, cache.hitRate(), 0);
+        assertEquals(4, cache.bytesHeld());
+    }
+
+    @Test
+    public void testBasesArePartOfKey() {
+        ConversionCache cache = new ConversionCache(1024, 0);
+
+        assertEquals("12", cache.convert(digits("14"), 8, 10, () -> "12"));
+        assertEquals("C", cache.convert(digits("14"), 8, 16, () -> "C"));
+        assertEquals("20", cache.convert(digits("14"), 10, 8, () -> "20"));
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.hitCount());
+    }
+
+    @Test
+    public void testEvictionByWeight() {
+        ConversionCache cache = new ConversionCache(10, 0);
+
+        cache.convert(digits("1111"), 8, 10, () -> "585");   // 7 байтів
+        cache.convert(digits("7"), 8, 10, () -> "7");        // 2 байти
+        cache.convert(digits("77"), 8, 10, () -> "63");      // 4 байти - витісняє перший запис
+
+        assertEquals(2, cache.size());
+        assertEquals(6, cache.bytesHeld());
+        assertEquals(1, cache.evictionCount());
+        assertTrue(cache.bytesHeld() <= cache.maxBytes());
+    }
+
+    @Test
+    public void testShortAndOversizedNumbersNotCached() {
+        ConversionCache cache = new ConversionCache(8, 3);
+
+        cache.convert(digits("14"), 8, 10, () -> "12");
+        cache.convert(digits("123456"), 8, 10, () -> "42798");
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.bytesHeld());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testLargeNumberConversionUsesSharedCache() {
+        StringBuilder decimal = new StringBuilder("9");
+        for (int i = 0; i < 300; i++) {
+            decimal.append(i % 10);
+        }
+        NumberListImpl list = new NumberListImpl(decimal.toString());
+        long hits = ConversionCache.shared().hitCount();
+
+        assertEquals(decimal.toString(), list.toDecimalString());
+        assertEquals(decimal.toString(), list.toDecimalString());
+        assertEquals(decimal.toString(), list.changeScale().toString());
+        assertTrue("Repeated conversion missed the cache", ConversionCache.shared().hitCount() >= hits + 2);
+        assertEquals(new BigInteger(decimal.toString()).toString(8), list.toString());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DigitOutputTest {
+    static String DECIMAL = "1212144468782345613";
+    static String OCTAL = "103223157433616366615";
+
+    NumberListImpl list;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+    }
+
+    @Test
+    public void testWriteDigits() {
+        list = new NumberListImpl(DECIMAL);
+
+        byte[] dst = new byte[OCTAL.length() + 2];
+        int written = list.writeDigits(dst, 1);
+
+        assertEquals("Wrong number of written digits", OCTAL.length(), written);
+        assertEquals("Wrong digits written", OCTAL, new String(dst, 1, written, StandardCharsets.US_ASCII));
+        assertEquals("Array modified outside of written range", 0, dst[dst.length - 1]);
+    }
+
+    @Test
+    public void testWriteToByteBuffer() {
+        list = new NumberListImpl(DECIMAL);
+
+        ByteBuffer buffer = ByteBuffer.allocate(OCTAL.length());
+        list.writeTo(buffer);
+        assertEquals("Wrong digits written", OCTAL, new String(buffer.array(), StandardCharsets.US_ASCII));
+
+        buffer.clear().position(1);
+        try {
+            list.writeTo(buffer);
+        } catch (BufferOverflowException e) {
+            assertEquals("Buffer modified on overflow", 1, buffer.position());
+            return;
+        }
+        assertTrue("Overflow was not detected", false);
+    }
+
+    @Test
+    public void testWriteToAppendable() throws IOException {
+        list = new NumberListImpl(DECIMAL);
+
+        StringBuilder sb = new StringBuilder("x");
+        list.writeTo(sb);
+        assertEquals("x" + OCTAL, sb.toString());
+    }
+
+    @Test
+    public void testEmptyList() throws IOException {
+        list = new NumberListImpl();
+
+        StringBuilder sb = new StringBuilder();
+        list.writeTo(sb);
+        assertEquals(list.toString(), sb.toString());
+        assertEquals("0", list.toDecimalString());
+    }
+
+    @Test
+    public void testDecimalString() {
+        list = new NumberListImpl(DECIMAL);
+        assertEquals(DECIMAL, list.toDecimalString());
+        assertEquals(DECIMAL, list.changeScale().toDecimalString());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DigitShiftTest {
+
+    @Test
+    public void testShiftDigitsLeftMultiplies() {
+        NumberListImpl list = new NumberListImpl("4117");      // 10025
+        list.shiftDigitsLeft(3);
+
+        assertEquals("10025000", list.toString());
+        assertEquals(BigInteger.valueOf(4117).shiftLeft(9).toString(), list.toDecimalString());
+    }
+
+    @Test
+    public void testShiftDigitsRightDivides() {
+        NumberListImpl list = new NumberListImpl("4117");
+        list.shiftDigitsRight(2);
+        assertEquals("100", list.toString());
+        assertEquals(String.valueOf(4117 / 64), list.toDecimalString());
+
+        list.shiftDigitsRight(10);
+        assertEquals("0", list.toString());
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    public void testZeroStaysZero() {
+        NumberListImpl zero = new NumberListImpl("0");
+        zero.shiftDigitsLeft(5);
+        assertEquals("0", zero.toString());
+
+        NumberListImpl empty = new NumberListImpl();
+        empty.shiftDigitsLeft(5);
+        empty.shiftDigitsRight(5);
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    public void testModAndDivByPowerOfBase() {
+        NumberListImpl list = new NumberListImpl("4117");      // 10025
+
+        assertEquals("25", list.mod8k(2).toString());
+        assertEquals("100", list.div8k(2).toString());
+        assertEquals("25", list.mod8k(3).toString());        // без провідного нуля
+        assertEquals("10025", list.mod8k(9).toString());
+        assertEquals("0", list.div8k(9).toString());
+        assertEquals("0", list.mod8k(0).toString());
+        assertEquals("10025", list.toString());
+
+        NumberListImpl hex = new NumberListImpl("4117", 16);    // 1015
+        assertEquals(String.valueOf(4117 % 256), hex.mod8k(2).toDecimalString());
+        assertEquals(String.valueOf(4117 / 256), hex.div8k(2).toDecimalString());
+    }
+
+    @Test
+    public void testLargeShiftIsLinearInK() {
+        NumberListImpl list = new NumberListImpl("7");
+        for (int i = 0; i < 1000; i++) {
+            list.shiftDigitsLeft(100);
+            list.shiftDigitsRight(99);
+        }
+
+        assertEquals(1001, list.size());
+        assertEquals(Byte.valueOf((byte) 7), list.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeShift() {
+        new NumberListImpl("7").shiftDigitsLeft(-1);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GzipFileTest {
+    static String PREFIX = "src/test/resources/";
+
+    File gz;
+    File plain;
+
+    @Before
+    public void setUp() throws IOException {
+        gz = File.createTempFile("number", ".txt.gz");
+        plain = File.createTempFile("number", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        gz.delete();
+        plain.delete();
+    }
+
+    private static String bigNumber() throws IOException {
+        return new String(Files.readAllBytes(new File(PREFIX + "BigNumber.txt").toPath()), StandardCharsets.US_ASCII).trim();
+    }
+
+    private static String gunzip(File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Test
+    public void testSaveCompressesByName() throws IOException {
+        String value = bigNumber();
+        NumberListImpl list = new NumberListImpl(value);
+
+        list.saveList(gz);
+        list.saveList(plain);
+
+        assertEquals(value, gunzip(gz));
+        assertEquals(value, new String(Files.readAllBytes(plain.toPath()), StandardCharsets.US_ASCII));
+        assertTrue("Compressed file is not smaller", gz.length() < plain.length());
+    }
+
+    @Test
+    public void testLoadDetectsSignature() throws IOException {
+        String value = bigNumber();
+        // Назва без .gz: формат визначається за вмістом
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(plain))) {
+            out.write((value + "\n123\n").getBytes(StandardCharsets.US_ASCII));
+        }
+
+        assertEquals(value, new NumberListImpl(plain).toDecimalString());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        NumberListImpl list = new NumberListImpl(bigNumber());
+
+        list.saveList(gz);
+        assertEquals(list, new NumberListImpl(gz));
+        assertEquals(list, NumberListImpl.loadAsync(gz.toPath()).get());
+
+        list.add((byte) 7);
+        list.saveAsync(gz.toPath()).get();
+        assertEquals(list.toDecimalString(), gunzip(gz));
+        assertEquals(list, new NumberListImpl(gz));
+    }
+
+    @Test
+    public void testShortPlainFiles() throws IOException {
+        for (String text : new String[] {"", "7", "17"}) {
+            Files.write(plain.toPath(), text.getBytes(StandardCharsets.US_ASCII));
+            NumberListImpl expected = text.isEmpty() ? new NumberListImpl() : new NumberListImpl(text);
+            assertEquals("Text '" + text + "'", expected.toString(), new NumberListImpl(plain).toString());
+        }
+    }
+
+    @Test
+    public void testCorruptedGzipGivesEmptyList() throws IOException {
+        Files.write(plain.toPath(), new byte[] {0x1f, (byte) 0x8b, 1, 2, 3});
+
+        assertTrue(new NumberListImpl(plain).isEmpty());
+    }
+}
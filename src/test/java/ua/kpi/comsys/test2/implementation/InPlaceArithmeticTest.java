@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InPlaceArithmeticTest {
+
+    @Test
+    public void testSubtractMatchesAdditionalOperation() {
+        Random random = new Random(4117);
+        for (int round = 0; round < 300; round++) {
+            BigInteger a = new BigInteger(random.nextInt(200), random);
+            BigInteger b = round % 5 == 0 ? a.subtract(BigInteger.valueOf(random.nextInt(3)))
+                    : new BigInteger(random.nextInt(200), random);
+            NumberListImpl x = new NumberListImpl(a.toString());
+            NumberListImpl y = new NumberListImpl(b.max(BigInteger.ZERO).toString());
+
+            NumberListImpl expected = x.additionalOperation(y);
+            assertSame(x, x.subtractInPlace(y));
+            assertEquals("Round " + round, expected.toString(), x.toString());
+            assertEquals(expected.size(), x.size());
+        }
+    }
+
+    @Test
+    public void testAddAgainstBigInteger() {
+        Random random = new Random(17);
+        for (int round = 0; round < 300; round++) {
+            BigInteger a = new BigInteger(random.nextInt(200), random);
+            BigInteger b = new BigInteger(random.nextInt(200), random);
+            NumberListImpl x = new NumberListImpl(a.toString());
+
+            x.addInPlace(new NumberListImpl(b.toString()));
+            assertEquals("Round " + round, a.add(b).toString(8), x.toString());
+        }
+    }
+
+    @Test
+    public void testLeadingZerosAndEmptyLists() {
+        NumberListImpl list = new NumberListImpl();
+        for (byte d : new byte[] {0, 0, 1, 0, 0}) {
+            list.add(d);
+        }
+        NumberListImpl arg = new NumberListImpl();
+        for (byte d : new byte[] {0, 0, 0, 0, 0, 7}) {
+            arg.add(d);
+        }
+
+        assertEquals("71", list.subtractInPlace(arg).toString());
+        assertEquals("100", list.addInPlace(arg).toString());
+        assertEquals("0", list.subtractInPlace(new NumberListImpl("64")).toString());
+        assertEquals("0", new NumberListImpl().subtractInPlace(new NumberListImpl()).toString());
+        assertEquals(0, new NumberListImpl().subtractInPlace(new NumberListImpl("1")).size());
+        assertEquals("7", new NumberListImpl().addInPlace(new NumberListImpl("7")).toString());
+    }
+
+    @Test
+    public void testSelfAndMixedBases() {
+        NumberListImpl list = new NumberListImpl("4117");
+        assertEquals(String.valueOf(4117 * 2), list.addInPlace(list).toDecimalString());
+        assertEquals("0", list.subtractInPlace(list).toString());
+
+        NumberListImpl octal = new NumberListImpl("4117");
+        octal.subtractInPlace(new NumberListImpl("117", 10));
+        assertEquals("4000", octal.toDecimalString());
+        octal.addInPlace(new NumberListImpl("255", 16));
+        assertEquals("4255", octal.toDecimalString());
+        assertEquals(8, octal.getBase());
+    }
+
+    @Test
+    public void testTrackedValueAndResidues() {
+        NumberListImpl list = new NumberListImpl("987654321987654321");
+        list.setValueTracking(true);
+        list.setTrackedModuli(7, 9);
+        list.toDecimalString();
+
+        list.subtractInPlace(new NumberListImpl("123456789"));
+        list.addInPlace(new NumberListImpl("4117"));
+
+        BigInteger expected = new BigInteger("987654321864201649");
+        assertEquals(expected.toString(), list.toDecimalString());
+        assertEquals(expected.mod(BigInteger.valueOf(7)).intValue(), list.mod(7));
+        assertEquals(expected.mod(BigInteger.valueOf(9)).intValue(), list.mod(9));
+    }
+
+    @Test
+    public void testRunningBalanceAllocatesNothing() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        NumberListImpl balance = new NumberListImpl("1" + "0".repeat(60));
+        NumberListImpl debit = new NumberListImpl("123456789");
+        NumberListImpl credit = new NumberListImpl("123456788");
+        for (int i = 0; i < 20_000; i++) {
+            balance.subtractInPlace(debit).addInPlace(credit);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            balance.subtractInPlace(debit).addInPlace(credit);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue("Allocated " + allocated + " bytes", allocated < 64 * 1024);
+        assertEquals(new BigInteger("1" + "0".repeat(60)).subtract(BigInteger.valueOf(120_000)).toString(),
+                balance.toDecimalString());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedAccessTest {
+
+    @Test
+    public void testRandomAccessWithMutations() {
+        Random random = new Random(4117);
+        NumberListImpl list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 3 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                byte digit = (byte) random.nextInt(8);
+                list.add(index, digit);
+                expected.add(index, digit);
+            } else if (action < 4) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (action < 5) {
+                int index = random.nextInt(expected.size());
+                byte digit = (byte) random.nextInt(8);
+                assertEquals(expected.set(index, digit), list.set(index, digit));
+            } else if (action < 6) {
+                list.shiftLeft();
+                if (!expected.isEmpty()) {
+                    expected.add(expected.remove(0));
+                }
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals("Digit at " + index, expected.get(index), list.get(index));
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testIndexedLoopsWalkFewNodes() {
+        NumberListImpl list = new NumberListImpl();
+        for (int i = 0; i < 10_000; i++) {
+            list.add((byte) (i % 8));
+        }
+
+        NumberListMetrics metrics = NumberListMetrics.get();
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            for (int i = 0; i < list.size(); i++) {
+                list.get(i);
+            }
+            for (int i = list.size() - 1; i >= 0; i--) {
+                list.get(i);
+            }
+            list.subList(4_000, 6_000);
+
+            // Кожен пошук проходить не більше одного вузла від попереднього
+            long lookups = metrics.count(NumberListMetrics.Operation.GET_NODE);
+            assertTrue(metrics.totalDigits(NumberListMetrics.Operation.GET_NODE) <= lookups + 4_000);
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+
+    @Test
+    public void testNearestEndAfterClear() {
+        NumberListImpl list = new NumberListImpl("4117");     // 10025
+        assertEquals(Byte.valueOf((byte) 2), list.get(3));
+        list.clear();
+        list.add((byte) 7);
+        list.add((byte) 6);
+
+        assertEquals(Byte.valueOf((byte) 6), list.get(1));
+        assertEquals(Byte.valueOf((byte) 7), list.get(0));
+    }
+
+    @Test
+    public void testConcurrentGetOnSharedList() throws Exception {
+        StringBuilder decimal = new StringBuilder("1");
+        Random random = new Random(17);
+        for (int i = 0; i < 3_000; i++) {
+            decimal.append(random.nextInt(10));
+        }
+        NumberListImpl shared = NumberListImpl.valueOf(decimal.toString());
+        String expected = shared.toString();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long seed = t;
+                results.add(pool.submit(() -> {
+                    // Короткі кроки, як при обході за індексом; спільний список не повинен
+                    // запам'ятовувати позицію одного потоку для іншого
+                    Random r = new Random(seed);
+                    int index = r.nextInt(expected.length());
+                    int mismatches = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        index = Math.floorMod(index + r.nextInt(64) - 32, expected.length());
+                        if (shared.get(index) != expected.charAt(index) - '0') {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(0), result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
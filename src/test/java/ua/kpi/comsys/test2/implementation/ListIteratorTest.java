@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ListIteratorTest {
+
+    private static NumberListImpl octal(String digits) {
+        NumberListImpl list = new NumberListImpl();
+        for (int i = 0; i < digits.length(); i++) {
+            list.add((byte) (digits.charAt(i) - '0'));
+        }
+        return list;
+    }
+
+    @Test
+    public void testAddAtCursor() {
+        NumberListImpl list = octal("26");
+        ListIterator<Byte> it = list.listIterator();
+
+        it.add((byte) 1);           // 126
+        it.next();
+        it.add((byte) 3);           // 1236
+        it.next();
+        it.add((byte) 7);           // 12367
+
+        assertEquals("12367", list.toString());
+        assertFalse(it.hasNext());
+        assertEquals(5, it.nextIndex());
+        assertEquals(Byte.valueOf((byte) 7), it.previous());
+    }
+
+    @Test
+    public void testRemoveAfterPreviousAtEnd() {
+        NumberListImpl list = octal("123");
+        ListIterator<Byte> it = list.listIterator(3);
+
+        it.previous();
+        it.remove();
+        it.add((byte) 7);
+
+        assertEquals("127", list.toString());
+        assertEquals(3, it.nextIndex());
+    }
+
+    @Test
+    public void testRemoveAndSetWhileWalking() {
+        NumberListImpl list = octal("102030");
+        ListIterator<Byte> it = list.listIterator();
+        while (it.hasNext()) {
+            if (it.next() == 0) {
+                it.remove();
+            } else {
+                it.set((byte) 7);
+            }
+        }
+
+        assertEquals("777", list.toString());
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    public void testBuildThroughIteratorIsLinear() {
+        NumberListImpl list = new NumberListImpl();
+        ListIterator<Byte> it = list.listIterator();
+        long start = System.nanoTime();
+        for (int i = 0; i < 200_000; i++) {
+            it.add((byte) (i % 8));
+        }
+        long nanos = System.nanoTime() - start;
+
+        assertEquals(200_000, list.size());
+        assertEquals(Byte.valueOf((byte) 7), list.get(199_999));
+        // Квадратична вставка виконувала б ~2*10^10 кроків
+        assertTrue("Iterator insert is not O(1)", nanos < 5_000_000_000L);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testListIteratorFailsFast() {
+        NumberListImpl list = octal("1234");
+        ListIterator<Byte> it = list.listIterator();
+        it.next();
+        list.remove(0);
+        it.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorFailsFast() {
+        NumberListImpl list = octal("1234");
+        Iterator<Byte> it = list.iterator();
+        it.next();
+        list.add((byte) 5);
+        it.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorFailsAfterShift() {
+        NumberListImpl list = octal("1234");
+        ListIterator<Byte> it = list.listIterator();
+        list.shiftLeft();
+        it.add((byte) 5);
+    }
+
+    @Test
+    public void testOwnChangesKeepIteratorValid() {
+        NumberListImpl list = octal("1234");
+        ListIterator<Byte> it = list.listIterator();
+        it.next();
+        it.remove();
+        it.add((byte) 7);
+        it.next();
+        list.set(0, (byte) 6);      // не структурна зміна
+        it.next();
+
+        assertEquals("6234", list.toString());
+    }
+}
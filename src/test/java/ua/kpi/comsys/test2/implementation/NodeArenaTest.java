@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NodeArenaTest {
+    NumberListImpl list;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+    }
+
+    private void assertSameDigits(List<Byte> expected, NumberListImpl actual) {
+        assertEquals("Wrong size", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Wrong digit at " + i, expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testRandomInsertRemove() {
+        Random random = new Random(17);
+        List<Byte> expected = new ArrayList<>();
+        list = new NumberListImpl();
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(4);
+            if (op < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                byte digit = (byte) random.nextInt(8);
+                expected.add(index, digit);
+                list.add(index, digit);
+            } else if (op == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                list.shiftLeft();
+                expected.add(expected.remove(0));
+            }
+        }
+        assertSameDigits(expected, list);
+    }
+
+    @Test
+    public void testClearReusesStorage() {
+        list = new NumberListImpl("79483758967495604375647803561675463655464562565464565654634156134636");
+        String digits = list.toString();
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        for (char c : digits.toCharArray()) {
+            list.add((byte) (c - '0'));
+        }
+        assertEquals(digits, list.toString());
+    }
+
+    @Test
+    public void testRemoveAllHead() {
+        list = new NumberListImpl();
+        list.add((byte) 1);
+        list.add((byte) 2);
+        list.add((byte) 1);
+        list.add((byte) 3);
+
+        assertTrue(list.removeAll(Arrays.asList((byte) 1)));
+        assertEquals("23", list.toString());
+
+        assertTrue(list.retainAll(Arrays.asList((byte) 3)));
+        assertEquals("3", list.toString());
+    }
+}
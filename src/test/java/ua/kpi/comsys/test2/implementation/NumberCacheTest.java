@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NumberCacheTest {
+
+    @Test
+    public void testHitReturnsSameInstance() {
+        NumberCache cache = new NumberCache(4);
+
+        NumberListImpl first = cache.get("227");
+        NumberListImpl second = cache.get("227");
+
+        assertSame("Cached number was parsed again", first, second);
+        assertEquals(new NumberListImpl("227"), first);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        NumberCache cache = new NumberCache(2);
+
+        NumberListImpl one = cache.get("1");
+        cache.get("14");
+        cache.get("1");
+        cache.get("227");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertSame("Recently used number was evicted", one, cache.get("1"));
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    public void testCachedNumberIsImmutable() {
+        NumberListImpl cached = NumberListImpl.valueOf("14");
+        assertTrue(cached.isImmutable());
+
+        try {
+            cached.add((byte) 1);
+        } catch (UnsupportedOperationException e) {
+            NumberListImpl copy = cached.mutableCopy();
+            assertNotSame(cached, copy);
+            assertFalse(copy.isImmutable());
+            copy.add((byte) 1);
+            assertEquals("161", copy.toString());
+            assertEquals("16", cached.toString());
+            return;
+        }
+        assertTrue("Cached number was modified", false);
+    }
+
+    @Test
+    public void testCachedNumberHasNoTrackers() {
+        NumberListImpl cached = NumberListImpl.valueOf("227");
+
+        try {
+            cached.setTrackedModuli(7);
+        } catch (UnsupportedOperationException e) {
+            try {
+                cached.setValueTracking(true);
+            } catch (UnsupportedOperationException e2) {
+                assertFalse(cached.isValueTracking());
+                assertEquals(0, cached.getTrackedModuli().length);
+                assertEquals(227 % 7, cached.mod(7));
+                assertEquals("227", cached.toDecimalString());
+                return;
+            }
+        }
+        assertTrue("Trackers were attached to cached number", false);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberExpressionTest {
+
+    File lazyFile;
+    File eagerFile;
+
+    @Before
+    public void setUp() throws IOException {
+        lazyFile = File.createTempFile("lazy", ".txt");
+        eagerFile = File.createTempFile("eager", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        lazyFile.delete();
+        eagerFile.delete();
+    }
+
+    @Test
+    public void testChainMatchesEagerOperations() {
+        NumberListImpl a = new NumberListImpl("987654321987654321");
+        NumberListImpl b = new NumberListImpl("123456789");
+        NumberListImpl c = new NumberListImpl("4117");
+
+        NumberListImpl eager = a.additionalOperation(b).additionalOperation(c).changeScale();
+        NumberListImpl lazy = a.lazy().subtract(b).subtract(c).changeScale().toList();
+
+        assertEquals(eager.toString(), lazy.toString());
+        assertEquals(10, lazy.getBase());
+        assertEquals("987654321864193415", a.lazy().subtract(b).subtract(c).toDecimalString());
+    }
+
+    @Test
+    public void testWriteToMatchesSaveList() throws IOException {
+        NumberListImpl a = new NumberListImpl("987654321987654321");
+        NumberListImpl b = new NumberListImpl("123456789");
+        a.lazy().subtract(b).toBase(10).writeTo(lazyFile.toPath());
+        a.additionalOperation(b).changeScale().saveList(eagerFile);
+
+        assertEquals(new String(Files.readAllBytes(eagerFile.toPath()), StandardCharsets.US_ASCII),
+                new String(Files.readAllBytes(lazyFile.toPath()), StandardCharsets.US_ASCII));
+        assertEquals("987654321864197532", new NumberListImpl(lazyFile).toDecimalString());
+    }
+
+    @Test
+    public void testWriteToCompressesByName() throws IOException {
+        File gz = File.createTempFile("lazy", ".txt.gz");
+        try {
+            NumberListImpl a = new NumberListImpl("987654321987654321");
+            a.lazy().subtract(new NumberListImpl("123456789")).writeTo(gz.toPath());
+
+            try (InputStream in = new GZIPInputStream(new FileInputStream(gz))) {
+                assertEquals("987654321864197532", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+            assertEquals("987654321864197532", new NumberListImpl(gz).toDecimalString());
+        } finally {
+            gz.delete();
+        }
+    }
+
+    @Test
+    public void testNegativeDifferenceIsEmpty() {
+        NumberListImpl small = new NumberListImpl("5");
+        NumberListImpl large = new NumberListImpl("4117");
+
+        assertTrue(small.lazy().subtract(large).toList().isEmpty());
+        assertEquals("0", small.lazy().subtract(large).toDecimalString());
+        // Порожній проміжний результат віднімається як нуль, як і в additionalOperation
+        assertEquals(small.additionalOperation(large).additionalOperation(new NumberListImpl("0")).toString(),
+                small.lazy().subtract(large).subtract(new NumberListImpl("0")).toList().toString());
+    }
+
+    @Test
+    public void testOnlyLastConversionApplies() {
+        NumberListImpl a = new NumberListImpl("4117");
+
+        NumberExpression expression = a.lazy().toBase(16).toBase(2).toBase(36);
+        assertEquals(36, expression.getBase());
+        assertEquals(Integer.toString(4117, 36).toUpperCase(), expression.toList().toString());
+        assertEquals("4117", expression.toDecimalString());
+    }
+
+    @Test
+    public void testOperandsReadAtEvaluation() {
+        NumberListImpl a = new NumberListImpl("4117");
+        NumberListImpl b = new NumberListImpl("17");
+        NumberExpression expression = a.lazy().subtract(b);
+
+        assertEquals("4100", expression.toDecimalString());
+        b.add((byte) 0);    // 17 * 8
+        assertEquals(String.valueOf(4117 - 17 * 8), expression.toDecimalString());
+    }
+
+    @Test
+    public void testNestedExpression() {
+        NumberListImpl a = new NumberListImpl("1000");
+        NumberListImpl b = new NumberListImpl("300");
+        NumberListImpl c = new NumberListImpl("100");
+
+        // 1000 - (300 - 100)
+        assertEquals("800", a.lazy().subtract(b.lazy().subtract(c)).toDecimalString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBase() {
+        new NumberListImpl("4117").lazy().toBase(1);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class NumberListEventsTest {
+
+    @Test
+    public void testEventsRecorded() throws Exception {
+        File file = File.createTempFile("events", ".txt");
+        Path dump = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ua.kpi.comsys.test2.ChangeScale");
+            recording.enable("ua.kpi.comsys.test2.AdditionalOperation");
+            recording.enable("ua.kpi.comsys.test2.SaveList");
+            recording.enable("ua.kpi.comsys.test2.LoadList");
+            recording.start();
+
+            NumberListImpl list = new NumberListImpl("4117");
+            list.changeScale();
+            list.additionalOperation(new NumberListImpl("17"));
+            list.saveList(file);
+            new NumberListImpl(file);
+
+            recording.stop();
+            recording.dump(dump);
+
+            Map<String, RecordedEvent> events = new HashMap<>();
+            List<RecordedEvent> recorded = RecordingFile.readAllEvents(dump);
+            for (RecordedEvent event : recorded) {
+                events.put(event.getEventType().getName(), event);
+            }
+
+            RecordedEvent changeScale = events.get("ua.kpi.comsys.test2.ChangeScale");
+            assertNotNull("ChangeScale event was not recorded", changeScale);
+            assertEquals(5, changeScale.getInt("digits"));
+            assertEquals(8, changeScale.getInt("base"));
+            assertEquals(4, changeScale.getInt("resultDigits"));
+            assertEquals(10, changeScale.getInt("resultBase"));
+
+            RecordedEvent subtraction = events.get("ua.kpi.comsys.test2.AdditionalOperation");
+            assertNotNull("AdditionalOperation event was not recorded", subtraction);
+            assertEquals(2, subtraction.getInt("argumentDigits"));
+
+            RecordedEvent save = events.get("ua.kpi.comsys.test2.SaveList");
+            assertNotNull("SaveList event was not recorded", save);
+            assertEquals(4, save.getLong("bytesWritten"));
+            assertEquals(file.getPath(), save.getString("path"));
+
+            RecordedEvent load = events.get("ua.kpi.comsys.test2.LoadList");
+            assertNotNull("LoadList event was not recorded", load);
+            assertEquals(4, load.getLong("bytesRead"));
+            assertEquals(5, load.getInt("digits"));
+            assertTrue(!load.getDuration().isNegative());
+        } finally {
+            file.delete();
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    public void testLoadCountsCompressedBytes() throws Exception {
+        File file = File.createTempFile("events", ".txt.gz");
+        Path dump = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            StringBuilder decimal = new StringBuilder("1");
+            for (int i = 0; i < 5000; i++) {
+                decimal.append(i % 10);
+            }
+            new NumberListImpl(decimal.toString()).saveList(file);
+
+            recording.enable("ua.kpi.comsys.test2.LoadList");
+            recording.start();
+            new NumberListImpl(file);
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> recorded = RecordingFile.readAllEvents(dump);
+            assertEquals(1, recorded.size());
+            // Розмір стисненого файлу, а не кількість розпакованих символів
+            assertEquals(file.length(), recorded.get(0).getLong("bytesRead"));
+            assertTrue(file.length() < decimal.length());
+        } finally {
+            file.delete();
+            Files.deleteIfExists(dump);
+        }
+    }
+}
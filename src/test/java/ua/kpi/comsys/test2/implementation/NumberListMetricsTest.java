@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ua.kpi.comsys.test2.implementation.NumberListMetrics.Operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberListMetricsTest {
+
+    private final NumberListMetrics metrics = NumberListMetrics.get();
+
+    @Before
+    public void setUp() {
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    public void testOperationsCounted() {
+        NumberListImpl list = new NumberListImpl("4117");
+        list.changeScale();
+        list.additionalOperation(new NumberListImpl("17"));
+        list.get(3);
+        list.sortAscending();
+
+        assertEquals(1, metrics.count(Operation.CHANGE_SCALE));
+        assertEquals(1, metrics.count(Operation.ADDITIONAL_OPERATION));
+        assertEquals(1, metrics.count(Operation.SORT));
+        assertEquals(5, metrics.totalDigits(Operation.SORT));
+        assertTrue(metrics.count(Operation.CONVERT) >= 1);
+        assertTrue(metrics.count(Operation.GET_NODE) >= 1);
+        assertTrue(metrics.latencyPercentile(Operation.CHANGE_SCALE, 100) >= metrics.totalNanos(Operation.CHANGE_SCALE));
+        assertEquals(0, metrics.latencyPercentile(Operation.GET_NODE, 50));
+    }
+
+    @Test
+    public void testInPlaceOperationsCountedSeparately() {
+        NumberListImpl list = new NumberListImpl("4117");
+        list.subtractInPlace(new NumberListImpl("17"));
+        list.addInPlace(new NumberListImpl("17"));
+        list.addInPlace(new NumberListImpl("17", 10));
+
+        assertEquals(1, metrics.count(Operation.SUBTRACT_IN_PLACE));
+        assertEquals(2, metrics.count(Operation.ADD_IN_PLACE));
+        assertEquals(0, metrics.count(Operation.ADDITIONAL_OPERATION));
+    }
+
+    @Test
+    public void testDigitsPercentile() {
+        new NumberListImpl("7").sortAscending();         // 1 цифра
+        new NumberListImpl("4117").sortAscending();      // 5 цифр
+        new NumberListImpl("4117").sortAscending();
+
+        assertEquals(1, metrics.digitsPercentile(Operation.SORT, 30));
+        assertEquals(7, metrics.digitsPercentile(Operation.SORT, 99));
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        metrics.setEnabled(false);
+        new NumberListImpl("4117").changeScale();
+
+        assertEquals(0, metrics.count(Operation.CHANGE_SCALE));
+        assertEquals(0, metrics.count(Operation.CONVERT));
+    }
+
+    @Test
+    public void testListenerNotified() {
+        List<Operation> seen = new ArrayList<>();
+        NumberListMetrics.Listener listener = (operation, nanos, digits) -> seen.add(operation);
+        metrics.addListener(listener);
+        try {
+            new NumberListImpl("4117").changeScale();
+        } finally {
+            metrics.removeListener(listener);
+        }
+
+        assertTrue(seen.contains(Operation.CHANGE_SCALE));
+        assertTrue(seen.contains(Operation.CONVERT));
+    }
+
+    @Test
+    public void testRegisteredInJmx() throws Exception {
+        NumberListMetrics.registerMBean();
+        NumberListMetrics.registerMBean();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(NumberListMetrics.OBJECT_NAME);
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+
+        new NumberListImpl("4117").sortDescending();
+        Object p99 = server.invoke(name, "digitsPercentile", new Object[] {"SORT", 99.0},
+                new String[] {String.class.getName(), double.class.getName()});
+        assertEquals(7L, p99);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapNumberListTest {
+    static String DECIMAL = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    OffHeapNumberList list;
+    File f;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.close();
+            list = null;
+        }
+        if (f != null) {
+            f.delete();
+            f = null;
+        }
+    }
+
+    @Test
+    public void testSameAsLinkedList() {
+        list = new OffHeapNumberList(DECIMAL);
+        NumberListImpl expected = new NumberListImpl(DECIMAL);
+
+        assertEquals(expected.toString(), list.toString());
+        assertEquals(DECIMAL, list.toDecimalString());
+    }
+
+    @Test
+    public void testGrowAndEdit() {
+        list = new OffHeapNumberList();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            list.add((byte) (i % 8));
+            expected.append(i % 8);
+        }
+        list.add(0, (byte) 7);
+        expected.insert(0, '7');
+        list.remove(100);
+        expected.deleteCharAt(100);
+        list.shiftLeft();
+        expected.append(expected.charAt(0)).deleteCharAt(0);
+
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    @Test
+    public void testMapSnapshot() throws IOException {
+        f = File.createTempFile("offheap", ".nld");
+        new NumberListImpl(DECIMAL).saveSnapshot(f);
+
+        list = OffHeapNumberList.mapSnapshot(f);
+        assertEquals(DECIMAL, list.toDecimalString());
+
+        // Зміни відображення не потрапляють у файл
+        list.set(0, (byte) 0);
+        assertEquals(DECIMAL, NumberListImpl.loadSnapshot(f).toDecimalString());
+    }
+
+    @Test
+    public void testSaveSnapshot() throws IOException {
+        f = File.createTempFile("offheap", ".nld");
+        list = new OffHeapNumberList(DECIMAL);
+
+        list.saveSnapshot(f);
+        assertEquals(DECIMAL, NumberListImpl.loadSnapshot(f).toDecimalString());
+    }
+
+    @Test
+    public void testSaveAndLoadList() throws IOException {
+        f = File.createTempFile("offheap", ".txt.gz");
+        try (OffHeapNumberList saved = new OffHeapNumberList(DECIMAL)) {
+            saved.saveList(f);
+        }
+
+        list = new OffHeapNumberList(f);
+        assertEquals(new NumberListImpl(DECIMAL).toString(), list.toString());
+        assertEquals(DECIMAL, new NumberListImpl(f).toDecimalString());
+    }
+
+    @Test
+    public void testMissingFile() {
+        list = new OffHeapNumberList(new File("missing-offheap.txt"));
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void testChangeScale() {
+        list = new OffHeapNumberList(DECIMAL);
+
+        try (OffHeapNumberList decimal = (OffHeapNumberList) list.changeScale();
+             OffHeapNumberList hex = (OffHeapNumberList) list.changeScale(16)) {
+            assertEquals(DECIMAL, decimal.toString());
+            assertEquals(new NumberListImpl(DECIMAL).changeScale(16).toString(), hex.toString());
+        }
+    }
+
+    @Test
+    public void testAdditionalOperation() {
+        list = new OffHeapNumberList(DECIMAL);
+        NumberListImpl arg = new NumberListImpl("1234567");
+        NumberListImpl expected = new NumberListImpl(DECIMAL).additionalOperation(arg);
+
+        try (OffHeapNumberList five = new OffHeapNumberList("5");
+             OffHeapNumberList result = (OffHeapNumberList) list.additionalOperation(arg);
+             OffHeapNumberList negative = (OffHeapNumberList) five.additionalOperation(list)) {
+            assertEquals(expected.toString(), result.toString());
+            assertEquals(DECIMAL, list.toDecimalString());
+            assertEquals(0, negative.size());
+        }
+    }
+
+    @Test
+    public void testClosed() {
+        list = new OffHeapNumberList(DECIMAL);
+        list.close();
+        list.close();
+
+        try {
+            list.get(0);
+        } catch (IllegalStateException e) {
+            return;
+        }
+        assertTrue("Closed list is still usable", false);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelDecimalParserTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("decimal", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @AfterClass
+    public static void shutDown() {
+        POOL.shutdown();
+    }
+
+    private static BigInteger parse(String text, int chunkDigits) throws IOException {
+        ParallelDecimalParser parser = new ParallelDecimalParser(POOL, chunkDigits);
+        return parser.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    private static String randomDecimal(Random random, int digits) {
+        StringBuilder text = new StringBuilder(digits);
+        text.append((char) ('1' + random.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            text.append((char) ('0' + random.nextInt(10)));
+        }
+        return text.toString();
+    }
+
+    private void write(String text) throws IOException {
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(text);
+        }
+    }
+
+    @Test
+    public void testChunkCountsAndRemainders() throws IOException {
+        Random random = new Random(4117);
+        for (int digits = 1; digits <= 70; digits++) {
+            String text = randomDecimal(random, digits);
+            for (int chunkDigits : new int[] {1, 3, 7, 64}) {
+                assertEquals(digits + " digits by " + chunkDigits, new BigInteger(text), parse(text, chunkDigits));
+            }
+        }
+    }
+
+    @Test
+    public void testSingleThreadPoolKeepsUp() throws IOException {
+        // Пул з одним потоком відстає від читання, тож читання чекає на розбір шматків
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            String text = randomDecimal(new Random(33), 5_000);
+            ParallelDecimalParser parser = new ParallelDecimalParser(single, 16);
+            assertEquals(new BigInteger(text),
+                    parser.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1))));
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testLargeFileMatchesSequentialConversion() throws IOException {
+        String text = randomDecimal(new Random(17), 60_000);
+        write(text + "\n1234\n");
+
+        NumberListImpl list = new NumberListImpl(file);
+
+        assertEquals(new BigInteger(text).toString(8), list.toString());
+    }
+
+    @Test
+    public void testSameRulesAsStringConstructor() throws IOException {
+        String[] lines = {"  4117  ", "+4117", "0", "0004117", "-0", "-4117", "41 17", "41a7", "-", "", "   "};
+        for (String line : lines) {
+            write(line + "\r\n99");
+            NumberListImpl fromFile = new NumberListImpl(file);
+            NumberListImpl expected = line.trim().isEmpty() ? new NumberListImpl() : new NumberListImpl(line.trim());
+            assertEquals("Line '" + line + "'", expected.toString(), fromFile.toString());
+            assertEquals("Line '" + line + "'", expected.size(), fromFile.size());
+        }
+    }
+
+    @Test
+    public void testNegativeAndInvalidGiveNull() throws IOException {
+        assertNull(parse("-123456789", 2));
+        assertNull(parse("12345 6789", 2));
+        assertNull(parse("+", 2));
+        assertEquals(BigInteger.ZERO, parse("-000", 2));
+    }
+
+    @Test
+    public void testMissingFileGivesEmptyList() {
+        assertTrue(new NumberListImpl(new File(file.getPath() + ".missing")).isEmpty());
+    }
+}
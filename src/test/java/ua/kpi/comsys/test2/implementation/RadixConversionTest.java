@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RadixConversionTest {
+
+    @Test
+    public void testAllBasePairs() {
+        String decimal = "1234567890123456789012345678901234567890";
+        BigInteger value = new BigInteger(decimal);
+        for (int from = 2; from <= 36; from++) {
+            NumberListImpl list = new NumberListImpl(decimal, from);
+            assertEquals(from, list.getBase());
+            assertEquals(value.toString(from).toUpperCase(), list.toString());
+
+            for (int to = 2; to <= 36; to++) {
+                NumberListImpl scaled = list.changeScale(to);
+                assertEquals("From " + from + " to " + to, value.toString(to).toUpperCase(), scaled.toString());
+                assertEquals(to, scaled.getBase());
+            }
+        }
+    }
+
+    @Test
+    public void testRegroupLargeNumbers() {
+        Random random = new Random(17);
+        int[] bases = {2, 4, 8, 16, 32};
+        for (int from : bases) {
+            BigInteger value = new BigInteger(5_000, random);
+            NumberListImpl list = new NumberListImpl(value.toString(), from);
+            for (int to : bases) {
+                assertEquals(value.toString(to).toUpperCase(), list.changeScale(to).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testLeadingZerosAndZero() {
+        NumberListImpl list = new NumberListImpl(16);
+        list.add((byte) 0);
+        list.add((byte) 0);
+        list.add((byte) 15);
+
+        assertEquals("1111", list.changeScale(2).toString());
+        assertEquals("15", list.changeScale(10).toString());
+        assertEquals("F", list.changeScale(16).toString());
+        assertEquals("15", list.toDecimalString());
+
+        assertEquals("0", new NumberListImpl(4).changeScale(32).toString());
+        assertEquals("0", new NumberListImpl("0", 3).changeScale(8).toString());
+    }
+
+    @Test
+    public void testWriteDecimalMatchesToString() throws IOException {
+        Random random = new Random(4117);
+        BigInteger leaf = BigInteger.TEN.pow(RadixConverter.DECIMAL_LEAF_DIGITS);
+        BigInteger[] values = {
+                BigInteger.ZERO, BigInteger.ONE, leaf.subtract(BigInteger.ONE), leaf, leaf.add(BigInteger.ONE),
+                leaf.pow(5), leaf.pow(4).multiply(BigInteger.valueOf(7)).add(BigInteger.valueOf(3)),
+                new BigInteger(20_000, random), new BigInteger(50_000, random)};
+        for (BigInteger value : values) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RadixConverter.writeDecimal(value, out);
+            assertEquals(value.toString(), out.toString(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void testDefaultChangeScaleIsDecimal() {
+        NumberListImpl list = new NumberListImpl("4117");
+        assertEquals(8, list.getBase());
+        assertEquals(list.changeScale(10), list.changeScale());
+        assertEquals(10, list.changeScale().getBase());
+    }
+
+    @Test
+    public void testSnapshotKeepsBase() throws Exception {
+        File file = File.createTempFile("radix", ".nld");
+        try {
+            NumberListImpl list = new NumberListImpl("4117", 36);
+            list.saveSnapshot(file);
+
+            NumberListImpl loaded = NumberListImpl.loadSnapshot(file);
+            assertEquals(36, loaded.getBase());
+            assertEquals("4117", loaded.toDecimalString());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBaseTooLarge() {
+        new NumberListImpl(37);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTargetBaseTooSmall() {
+        new NumberListImpl("10").changeScale(1);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ListIterator;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ResidueTrackingTest {
+
+    private static final int[] MODULI = {7, 9, 2, 6, 11, 1_000_000_007};
+
+    private static void assertResidues(NumberListImpl list, String message) {
+        BigInteger value = new BigInteger(list.toDecimalString());
+        for (int m : MODULI) {
+            assertEquals(message + " mod " + m, value.mod(BigInteger.valueOf(m)).intValue(), list.mod(m));
+        }
+    }
+
+    @Test
+    public void testRandomEditsAgainstBigInteger() {
+        for (int base : new int[] {8, 10}) {
+            Random random = new Random(base);
+            NumberListImpl list = new NumberListImpl(base);
+            list.setTrackedModuli(MODULI);
+
+            for (int step = 0; step < 3_000; step++) {
+                int action = random.nextInt(8);
+                byte digit = (byte) random.nextInt(base);
+                if (action < 3 || list.isEmpty()) {
+                    list.add(digit);
+                } else if (action == 3) {
+                    list.add(random.nextInt(list.size() + 1), digit);
+                } else if (action == 4) {
+                    list.remove(random.nextInt(list.size()));
+                } else if (action == 5) {
+                    list.set(random.nextInt(list.size()), digit);
+                } else if (action == 6) {
+                    list.swap(random.nextInt(list.size()), random.nextInt(list.size()));
+                } else if (random.nextBoolean()) {
+                    list.shiftLeft();
+                } else {
+                    list.shiftRight();
+                }
+                if (step % 50 == 0) {
+                    assertResidues(list, "Base " + base + ", step " + step);
+                }
+            }
+            assertResidues(list, "Base " + base);
+        }
+    }
+
+    @Test
+    public void testIteratorAndBulkEdits() {
+        NumberListImpl list = new NumberListImpl("123456789012345678901234567890");
+        list.setTrackedModuli(MODULI);
+        assertResidues(list, "Initial");
+
+        ListIterator<Byte> it = list.listIterator(5);
+        it.add((byte) 7);
+        it.next();
+        it.set((byte) 3);
+        it.previous();
+        it.remove();
+        assertResidues(list, "Iterator");
+
+        list.remove((Byte) (byte) 7);
+        list.shiftDigitsLeft(4);
+        list.shiftDigitsRight(6);
+        assertResidues(list, "Shifts");
+
+        list.sortDescending();
+        list.removeAll(java.util.Collections.singleton((byte) 0));
+        assertResidues(list, "Bulk");
+
+        list.clear();
+        assertEquals(0, list.mod(7));
+        list.add((byte) 5);
+        assertEquals(5, list.mod(9));
+    }
+
+    @Test
+    public void testUntrackedModulus() {
+        NumberListImpl list = new NumberListImpl("4117");
+
+        assertEquals(4117 % 13, list.mod(13));
+        assertEquals(0, list.mod(1));
+        assertArrayEquals(new int[0], list.getTrackedModuli());
+
+        list.setTrackedModuli(7, 9);
+        assertArrayEquals(new int[] {7, 9}, list.getTrackedModuli());
+        assertEquals(4117 % 7, list.mod(7));
+        assertEquals(4117 % 13, list.mod(13));
+    }
+
+    @Test
+    public void testChecksum() {
+        NumberListImpl a = new NumberListImpl("4117");
+        NumberListImpl b = new NumberListImpl("4117");
+        b.setTrackedModuli(3);
+
+        assertEquals(a.checksum(), b.checksum());
+        b.set(0, (byte) 2);
+        assertNotEquals(a.checksum(), b.checksum());
+        b.set(0, (byte) 1);
+        assertEquals(a.checksum(), b.checksum());
+
+        // Провідний нуль не змінює значення, але змінює вміст
+        b.add(0, (byte) 0);
+        assertNotEquals(a.checksum(), b.checksum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveModulus() {
+        new NumberListImpl("4117").mod(0);
+    }
+}
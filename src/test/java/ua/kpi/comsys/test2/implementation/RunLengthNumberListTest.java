@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RunLengthNumberListTest {
+    static String DECIMAL = "79483758967495604375647803561675463655464562565464565654634156134636";
+
+    RunLengthNumberList list;
+
+    @After
+    public void tearDown() {
+        if (list != null) {
+            list.clear();
+            list = null;
+        }
+    }
+
+    @Test
+    public void testSameAsLinkedList() {
+        list = new RunLengthNumberList(DECIMAL);
+
+        assertEquals(new NumberListImpl(DECIMAL).toString(), list.toString());
+        assertEquals(DECIMAL, list.toDecimalString());
+    }
+
+    @Test
+    public void testSortedListIsCompact() {
+        list = new RunLengthNumberList(DECIMAL);
+        list.sortAscending();
+
+        assertEquals("Sorted list should have at most base runs", 8, list.runCount());
+        assertEquals(0, list.get(0).intValue());
+        assertEquals(7, list.get(list.size() - 1).intValue());
+    }
+
+    @Test
+    public void testPowerOfBase() {
+        list = new RunLengthNumberList();
+        list.addRun((byte) 1, 1);
+        list.addRun((byte) 0, 100000);
+
+        assertEquals(100001, list.size());
+        assertEquals(2, list.runCount());
+        assertEquals(100000, list.lastIndexOf((byte) 0));
+    }
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(33);
+        List<Byte> expected = new ArrayList<>();
+        list = new RunLengthNumberList();
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(3);
+            byte digit = (byte) random.nextInt(3);
+            if (op == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, digit);
+                list.add(index, digit);
+            } else if (op == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, digit), list.set(index, digit));
+            }
+        }
+
+        assertEquals("Wrong size", expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Wrong digit at " + i, expected.get(i), list.get(i));
+        }
+        int runs = expected.isEmpty() ? 0 : 1;
+        for (int i = 1; i < expected.size(); i++) {
+            if (!expected.get(i).equals(expected.get(i - 1))) {
+                runs++;
+            }
+        }
+        assertEquals("Adjacent runs were not merged", runs, list.runCount());
+    }
+}
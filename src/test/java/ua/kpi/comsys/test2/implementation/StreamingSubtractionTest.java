@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingSubtractionTest {
+    static String BIG = "4564564564654564564897123468648634564848648946168476444657348651067566546578964375673486578346578346578346125654656751234567542319451902345085123046523412345678900998987654321";
+    static String SMALL = "1212144468782345613";
+
+    File a;
+    File b;
+    File result;
+
+    @Before
+    public void setUp() throws IOException {
+        a = File.createTempFile("minuend", ".bin");
+        b = File.createTempFile("subtrahend", ".txt");
+        result = File.createTempFile("result", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        a.delete();
+        b.delete();
+        result.delete();
+    }
+
+    private void writeText(File f, String text) throws IOException {
+        try (FileWriter writer = new FileWriter(f)) {
+            writer.write(text);
+        }
+    }
+
+    private String expected(String minuend, String subtrahend) {
+        return new NumberListImpl(minuend).additionalOperation(new NumberListImpl(subtrahend)).toString();
+    }
+
+    @Test
+    public void testBinaryMinusText() throws IOException {
+        new NumberListImpl(BIG).saveSnapshot(a);
+        writeText(b, new NumberListImpl(SMALL).toString() + "\n");
+
+        StreamingSubtraction.subtract(a, b, result, DigitFileFormat.BINARY, 5);
+
+        assertEquals(expected(BIG, SMALL), NumberListImpl.loadSnapshot(result).toString());
+    }
+
+    @Test
+    public void testLeadingZerosRemoved() throws IOException {
+        writeText(a, new NumberListImpl(BIG).toString());
+        BigInteger close = new BigInteger(BIG).subtract(BigInteger.valueOf(12345));
+        writeText(b, new NumberListImpl(close.toString()).toString());
+
+        long digits = StreamingSubtraction.subtract(a, b, result, DigitFileFormat.TEXT, 7);
+
+        String text = new String(Files.readAllBytes(result.toPath()));
+        assertEquals(new NumberListImpl("12345").toString(), text);
+        assertEquals(text.length(), digits);
+    }
+
+    @Test
+    public void testEqualOperands() throws IOException {
+        writeText(a, new NumberListImpl(SMALL).toString());
+        writeText(b, new NumberListImpl(SMALL).toString());
+
+        StreamingSubtraction.subtract(a, b, result, DigitFileFormat.TEXT, 3);
+
+        assertEquals("0", new String(Files.readAllBytes(result.toPath())));
+    }
+
+    @Test
+    public void testNegativeDifference() throws IOException {
+        new NumberListImpl(SMALL).saveSnapshot(a);
+        new NumberListImpl(BIG).saveSnapshot(b);
+
+        long digits = StreamingSubtraction.subtract(a, b, result, DigitFileFormat.BINARY, 4);
+
+        assertEquals(0, digits);
+        assertTrue("Negative result should be empty", NumberListImpl.loadSnapshot(result).isEmpty());
+    }
+}
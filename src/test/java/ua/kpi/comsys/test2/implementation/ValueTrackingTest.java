@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueTrackingTest {
+
+    @Test
+    public void testAppendedDigitsTracked() {
+        Random random = new Random(17);
+        for (int base : new int[] {2, 3, 8, 10, 16, 36}) {
+            NumberListImpl list = new NumberListImpl(base);
+            list.setValueTracking(true);
+            StringBuilder digits = new StringBuilder();
+            for (int i = 0; i < 500; i++) {
+                int d = random.nextInt(base);
+                list.add((byte) d);
+                digits.append(Character.forDigit(d, base));
+                if (i % 97 == 0) {
+                    assertEquals(new BigInteger(digits.toString(), base).toString(), list.toDecimalString());
+                }
+            }
+            assertEquals("Base " + base, new BigInteger(digits.toString(), base).toString(), list.toDecimalString());
+        }
+    }
+
+    @Test
+    public void testOtherChangesRecomputeValue() {
+        NumberListImpl list = new NumberListImpl();
+        list.setValueTracking(true);
+        for (byte d : new byte[] {1, 0, 0, 2, 5}) {
+            list.add(d);
+        }
+        assertEquals("4117", list.toDecimalString());
+
+        list.set(0, (byte) 2);
+        assertEquals(String.valueOf(Integer.parseInt("20025", 8)), list.toDecimalString());
+        list.add(1, (byte) 7);
+        assertEquals(String.valueOf(Integer.parseInt("270025", 8)), list.toDecimalString());
+        list.remove(0);
+        list.add((byte) 3);
+        assertEquals(String.valueOf(Integer.parseInt("700253", 8)), list.toDecimalString());
+        list.sortAscending();
+        assertEquals(String.valueOf(Integer.parseInt("002357", 8)), list.toDecimalString());
+        list.shiftRight();
+        assertEquals(String.valueOf(Integer.parseInt("700235", 8)), list.toDecimalString());
+        list.clear();
+        assertEquals("0", list.toDecimalString());
+        list.add((byte) 6);
+        assertEquals("6", list.toDecimalString());
+    }
+
+    @Test
+    public void testTrackingOnExistingList() {
+        NumberListImpl list = new NumberListImpl("4117");
+        assertFalse(list.isValueTracking());
+
+        list.setValueTracking(true);
+        assertTrue(list.isValueTracking());
+        list.add((byte) 1);
+        assertEquals(String.valueOf(4117 * 8 + 1), list.toDecimalString());
+        assertEquals(new NumberListImpl(String.valueOf(4117 * 8 + 1)), list);
+
+        list.setValueTracking(false);
+        list.add((byte) 1);
+        assertEquals(String.valueOf((4117 * 8 + 1) * 8 + 1), list.toDecimalString());
+    }
+
+    @Test
+    public void testSubtractionUsesTrackedValues() {
+        NumberListImpl a = new NumberListImpl();
+        NumberListImpl b = new NumberListImpl();
+        a.setValueTracking(true);
+        b.setValueTracking(true);
+        for (int i = 0; i < 300; i++) {
+            a.add((byte) 7);
+            b.add((byte) (i == 0 ? 0 : 7));
+        }
+
+        BigInteger expected = BigInteger.ONE.shiftLeft(900).subtract(BigInteger.ONE)
+                .subtract(BigInteger.ONE.shiftLeft(897).subtract(BigInteger.ONE));
+        assertEquals(expected.toString(8), a.additionalOperation(b).toString());
+        assertEquals(0, b.additionalOperation(a).size());
+    }
+}